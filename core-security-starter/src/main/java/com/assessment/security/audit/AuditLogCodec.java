@@ -0,0 +1,139 @@
+package com.assessment.security.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Binary layout of audit log segments.
+ * <pre>
+ * segment := header record* 0x00000000
+ * header  := magic:int32 ("SAUD") version:int16 reserved:int16
+ * record  := length:int32 body            (length of body, &gt; 0)
+ * body    := type:int8 timestamp:int64 string{6}
+ * string  := length:int16 utf8-bytes      (length -1 for null)
+ * </pre>
+ * Strings are username, userId, tenantId, remoteAddress, path and detail;
+ * each is cut to at most {@value #MAX_STRING_BYTES} bytes, at a character boundary. Segments are pre-sized and
+ * zero-filled, so a zero length marks the end of the written data.
+ */
+final class AuditLogCodec {
+
+    static final int MAGIC = 0x53415544;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private AuditLogCodec() {
+    }
+
+    static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Encoded size of the record including its length prefix.
+     */
+    static int recordSize(byte[][] strings) {
+        int size = Integer.BYTES + 1 + Long.BYTES;
+        for (byte[] value : strings) {
+            size += Short.BYTES + (value == null ? 0 : value.length);
+        }
+        return size;
+    }
+
+    static byte[][] strings(SecurityEvent event) {
+        return new byte[][]{
+                utf8(event.username()),
+                utf8(event.userId()),
+                utf8(event.tenantId()),
+                utf8(event.remoteAddress()),
+                utf8(event.path()),
+                utf8(event.detail())
+        };
+    }
+
+    static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+    }
+
+    static void write(ByteBuffer buffer, SecurityEvent event, byte[][] strings, int recordSize) {
+        buffer.putInt(recordSize - Integer.BYTES);
+        buffer.put((byte) event.type().ordinal());
+        buffer.putLong(event.timestamp());
+        for (byte[] value : strings) {
+            if (value == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) value.length);
+                buffer.put(value);
+            }
+        }
+    }
+
+    /**
+     * Verifies the segment header and leaves the buffer positioned at the first record.
+     */
+    static void readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not an audit log segment");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported audit log version " + version);
+        }
+        buffer.getShort();
+    }
+
+    /**
+     * Reads the next record, or returns {@code null} at the end of the segment.
+     */
+    static SecurityEvent read(ByteBuffer buffer) {
+        if (buffer.remaining() < Integer.BYTES) {
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            return null;
+        }
+        SecurityEventType type = SecurityEventType.values()[buffer.get()];
+        long timestamp = buffer.getLong();
+        return new SecurityEvent(type, timestamp,
+                readString(buffer), readString(buffer), readString(buffer),
+                readString(buffer), readString(buffer), readString(buffer));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_STRING_BYTES) {
+            return bytes;
+        }
+        // Back off to the lead byte of a sequence the limit would split
+        int end = MAX_STRING_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+}
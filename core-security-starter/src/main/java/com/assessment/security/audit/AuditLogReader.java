@@ -0,0 +1,85 @@
+package com.assessment.security.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads audit logs written by {@link MappedAuditLogSink}, oldest segment first.
+ * Also a command-line tool that prints one tab-separated line per event:
+ * <pre>
+ * java -cp core-security-starter-1.0.0.jar com.assessment.security.audit.AuditLogReader &lt;dir&gt; [TYPE...]
+ * </pre>
+ */
+public final class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Passes every event in the directory to {@code consumer} in write order.
+     */
+    public static void read(Path directory, Consumer<SecurityEvent> consumer) throws IOException {
+        for (Path segment : segments(directory)) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    /**
+     * Passes every event in one segment to {@code consumer}.
+     */
+    public static void readSegment(Path segment, Consumer<SecurityEvent> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            AuditLogCodec.readHeader(buffer);
+            SecurityEvent event;
+            while ((event = AuditLogCodec.read(buffer)) != null) {
+                consumer.accept(event);
+            }
+        }
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // Zero-padded sequence numbers sort lexicographically
+            return files.filter(AuditLogCodec::isSegment).sorted().toList();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogReader <audit-directory> [TYPE...]");
+            System.exit(2);
+        }
+        List<SecurityEventType> types = Stream.of(args).skip(1).map(SecurityEventType::valueOf).toList();
+        PrintStream out = System.out;
+        read(Path.of(args[0]), event -> {
+            if (types.isEmpty() || types.contains(event.type())) {
+                out.println(format(event));
+            }
+        });
+    }
+
+    static String format(SecurityEvent event) {
+        return String.join("\t",
+                Instant.ofEpochMilli(event.timestamp()).toString(),
+                event.type().name(),
+                valueOrDash(event.username()),
+                valueOrDash(event.userId()),
+                valueOrDash(event.tenantId()),
+                valueOrDash(event.remoteAddress()),
+                valueOrDash(event.path()),
+                valueOrDash(event.detail()));
+    }
+
+    private static String valueOrDash(String value) {
+        return value == null ? "-" : value;
+    }
+}
@@ -0,0 +1,116 @@
+package com.assessment.security.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit log in fixed-size memory-mapped segments
+ * ({@code audit-00000000000000000001.seg}, ...). Records are copied into the
+ * mapping in the {@link AuditLogCodec} format and reach the page cache
+ * immediately; the mapping is forced to disk at most once per
+ * {@code forceInterval} (checked on every flush, including the bus's idle
+ * flushes) and whenever a segment is rolled or the sink closed.
+ * A restart always opens a new segment. Read the log with {@link AuditLogReader}.
+ */
+public class MappedAuditLogSink implements SecurityEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedAuditLogSink.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long forceIntervalNanos;
+
+    private long sequence;
+    private MappedByteBuffer segment;
+    private long lastForce = System.nanoTime();
+    private boolean dirty;
+
+    public MappedAuditLogSink(Path directory, int segmentSize, Duration forceInterval) throws IOException {
+        if (segmentSize < AuditLogCodec.HEADER_BYTES + 64) {
+            throw new IllegalArgumentException("Audit segment size too small: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.forceIntervalNanos = forceInterval.toNanos();
+        this.sequence = lastSequence(this.directory);
+        roll();
+    }
+
+    @Override
+    public void write(SecurityEvent event) throws IOException {
+        byte[][] strings = AuditLogCodec.strings(event);
+        int size = AuditLogCodec.recordSize(strings);
+        // Keep room for the terminating zero length
+        if (size + Integer.BYTES > segmentSize - AuditLogCodec.HEADER_BYTES) {
+            logger.warn("Dropping {} audit event of {} bytes: larger than a segment", event.type(), size);
+            return;
+        }
+        if (segment.remaining() < size + Integer.BYTES) {
+            roll();
+        }
+        AuditLogCodec.write(segment, event, strings, size);
+        dirty = true;
+    }
+
+    @Override
+    public void flush() {
+        if (dirty && System.nanoTime() - lastForce >= forceIntervalNanos) {
+            force();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            force();
+            segment = null;
+        }
+    }
+
+    /**
+     * Path of the segment currently being written.
+     */
+    public Path getCurrentSegment() {
+        return AuditLogCodec.segmentPath(directory, sequence);
+    }
+
+    private void roll() throws IOException {
+        if (segment != null) {
+            force();
+        }
+        sequence++;
+        try (FileChannel channel = FileChannel.open(AuditLogCodec.segmentPath(directory, sequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        AuditLogCodec.writeHeader(segment);
+        dirty = true;
+    }
+
+    private void force() {
+        segment.force();
+        lastForce = System.nanoTime();
+        dirty = false;
+    }
+
+    private static long lastSequence(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditLogCodec::isSegment)
+                    .map(path -> path.getFileName().toString())
+                    .mapToLong(name -> Long.parseLong(
+                            name.substring(AuditLogCodec.SEGMENT_PREFIX.length(), name.length() - AuditLogCodec.SEGMENT_SUFFIX.length())))
+                    .max()
+                    .orElse(0);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.assessment.security.audit;
+
+import com.assessment.security.context.JwtPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Immutable security audit event. Fields that do not apply are {@code null}.
+ *
+ * @param timestamp epoch milliseconds
+ */
+public record SecurityEvent(
+        SecurityEventType type,
+        long timestamp,
+        String username,
+        String userId,
+        String tenantId,
+        String remoteAddress,
+        String path,
+        String detail) {
+
+    /**
+     * Event for the current request, attributed to the authenticated principal if there is one.
+     */
+    public static SecurityEvent of(SecurityEventType type, HttpServletRequest request, String detail) {
+        JwtPrincipal principal = JwtPrincipal.current().orElse(null);
+        return new SecurityEvent(
+                type,
+                System.currentTimeMillis(),
+                principal != null ? principal.username() : null,
+                principal != null ? principal.userId() : null,
+                principal != null ? principal.tenantId() : null,
+                request != null ? request.getRemoteAddr() : null,
+                request != null ? request.getRequestURI() : null,
+                detail);
+    }
+
+    /**
+     * Event about a named user outside (or independent of) the security context.
+     */
+    public static SecurityEvent of(
+            SecurityEventType type,
+            String username,
+            String userId,
+            String tenantId,
+            HttpServletRequest request,
+            String detail) {
+        return new SecurityEvent(
+                type,
+                System.currentTimeMillis(),
+                username,
+                userId,
+                tenantId,
+                request != null ? request.getRemoteAddr() : null,
+                request != null ? request.getRequestURI() : null,
+                detail);
+    }
+}
@@ -0,0 +1,175 @@
+package com.assessment.security.audit;
+
+import com.assessment.security.properties.SecurityProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, single-consumer event bus. Request threads only enqueue; one
+ * background thread drains batches into the sinks. When the queue is full the
+ * configured {@link SecurityProperties.Audit.Backpressure} policy decides
+ * whether the new event, the oldest event or the publisher gives way.
+ * Sinks are flushed after every batch and on every idle poll, so a sink that
+ * defers durability (such as {@link MappedAuditLogSink}) is never left dirty
+ * once traffic stops.
+ */
+public class SecurityEventBus implements SecurityEventPublisher, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityEventBus.class);
+    private static final int MAX_BATCH = 256;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<SecurityEvent> queue;
+    private final List<SecurityEventSink> sinks;
+    private final SecurityProperties.Audit.Backpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final Thread consumer;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public SecurityEventBus(
+            List<SecurityEventSink> sinks,
+            int capacity,
+            SecurityProperties.Audit.Backpressure backpressure,
+            Duration blockTimeout) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sinks = List.copyOf(sinks);
+        this.backpressure = backpressure;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.consumer = Thread.ofPlatform()
+                .name("security-audit")
+                .daemon(true)
+                .start(this::drainLoop);
+    }
+
+    @Override
+    public void publish(SecurityEvent event) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        boolean accepted = switch (backpressure) {
+            case DROP_NEWEST -> queue.offer(event);
+            case DROP_OLDEST -> offerDroppingOldest(event);
+            case BLOCK -> offerBlocking(event);
+        };
+        if (accepted) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Events accepted onto the queue.
+     */
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * Events discarded because the queue was full (including those evicted by {@code DROP_OLDEST}).
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Events waiting for the consumer.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private boolean offerDroppingOldest(SecurityEvent event) {
+        while (!queue.offer(event)) {
+            if (queue.poll() != null) {
+                dropped.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerBlocking(SecurityEvent event) {
+        try {
+            return queue.offer(event, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<SecurityEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                SecurityEvent first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    flush();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                // Stop accepting; the loop still drains what is already queued
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<SecurityEvent> batch) {
+        for (SecurityEventSink sink : sinks) {
+            try {
+                for (SecurityEvent event : batch) {
+                    sink.write(event);
+                }
+                sink.flush();
+            } catch (Exception e) {
+                logger.error("Audit sink {} failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        for (SecurityEventSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (Exception e) {
+                logger.error("Audit sink {} failed to flush: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting events, delivers everything already queued and closes the sinks.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SecurityEventSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (Exception e) {
+                logger.error("Failed to close audit sink {}: {}", sink.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
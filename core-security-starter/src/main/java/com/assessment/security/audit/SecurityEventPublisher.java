@@ -0,0 +1,16 @@
+package com.assessment.security.audit;
+
+/**
+ * Accepts security events. Implementations must return without blocking on I/O.
+ */
+@FunctionalInterface
+public interface SecurityEventPublisher {
+
+    /**
+     * Publisher used when auditing is disabled.
+     */
+    SecurityEventPublisher NOOP = event -> {
+    };
+
+    void publish(SecurityEvent event);
+}
@@ -0,0 +1,22 @@
+package com.assessment.security.audit;
+
+import java.io.IOException;
+
+/**
+ * Destination for audit events. Called only from the bus's consumer thread,
+ * so implementations need not be thread-safe.
+ */
+public interface SecurityEventSink extends AutoCloseable {
+
+    void write(SecurityEvent event) throws IOException;
+
+    /**
+     * Called after each drained batch and whenever the queue stays empty for a poll interval.
+     */
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
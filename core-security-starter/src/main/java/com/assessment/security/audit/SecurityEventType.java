@@ -0,0 +1,23 @@
+package com.assessment.security.audit;
+
+/**
+ * Kinds of security events. The ordinal is part of the binary audit log
+ * format, so new types must only be appended.
+ */
+public enum SecurityEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    TOKEN_ISSUED,
+    /**
+     * A presented token failed verification or did not match the request's tenant.
+     */
+    TOKEN_REJECTED,
+    /**
+     * A protected resource was requested without valid authentication.
+     */
+    UNAUTHORIZED,
+    /**
+     * An authenticated user lacked the required authority.
+     */
+    ACCESS_DENIED
+}
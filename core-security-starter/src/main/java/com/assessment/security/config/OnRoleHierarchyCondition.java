@@ -0,0 +1,29 @@
+package com.assessment.security.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+/**
+ * Matches when {@code security.jwt.role-hierarchy} lists at least one role.
+ */
+class OnRoleHierarchyCondition extends SpringBootCondition {
+
+    private static final String PROPERTY = "security.jwt.role-hierarchy";
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        boolean configured = Binder.get(context.getEnvironment())
+                .bind(PROPERTY, Bindable.mapOf(String.class, String[].class))
+                .map(roles -> !roles.isEmpty())
+                .orElse(false);
+        return configured
+                ? ConditionOutcome.match(PROPERTY + " is configured")
+                : ConditionOutcome.noMatch(PROPERTY + " is empty");
+    }
+}
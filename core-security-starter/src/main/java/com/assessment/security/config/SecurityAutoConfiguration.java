@@ -1,13 +1,53 @@
 package com.assessment.security.config;
 
+import com.assessment.security.aot.SecurityRuntimeHints;
+import com.assessment.security.audit.MappedAuditLogSink;
+import com.assessment.security.audit.SecurityEvent;
+import com.assessment.security.audit.SecurityEventBus;
+import com.assessment.security.audit.SecurityEventPublisher;
+import com.assessment.security.audit.SecurityEventSink;
+import com.assessment.security.audit.SecurityEventType;
+import com.assessment.security.context.BitSetRoleHierarchy;
+import com.assessment.security.context.JwtMethodSecurityExpressionHandler;
+import com.assessment.security.context.SecurityContextTaskDecorator;
+import com.assessment.security.dpop.DpopProofVerifier;
+import com.assessment.security.exception.GlobalExceptionHandler;
+import com.assessment.security.filter.CsrfCookieFilter;
 import com.assessment.security.filter.JwtAuthenticationFilter;
+import com.assessment.security.filter.TokenResolverChain;
+import com.assessment.security.internal.ConnectionIdentityCache;
+import com.assessment.security.internal.ConnectionIdentityCacheMetrics;
+import com.assessment.security.internal.InternalListener;
+import com.assessment.security.jwks.JwkSetController;
+import com.assessment.security.jwks.JwkSetPublisher;
+import com.assessment.security.jwks.RemoteJwkSetClient;
+import com.assessment.security.limit.AdaptiveConcurrencyLimiter;
+import com.assessment.security.limit.ConcurrencyLimiterMetrics;
 import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.quota.UserQuotaTable;
+import com.assessment.security.startup.LazyBeansPostProcessor;
+import com.assessment.security.startup.StartupTimelineReporter;
+import com.assessment.security.tenant.TenantRegistry;
+import com.assessment.security.token.InMemoryTokenStore;
+import com.assessment.security.token.TokenIssuer;
+import com.assessment.security.token.TokenStore;
+import com.assessment.security.util.JwtKeyMaterial;
 import com.assessment.security.util.JwtUtil;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -15,19 +55,49 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.access.AccessDeniedHandlerImpl;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Autoconfiguration for JWT security.
+ * All beans are registered explicitly (no component scanning) so startup and
+ * AOT processing do not have to walk the starter's packages.
  */
 @AutoConfiguration
 @EnableWebSecurity
 @EnableMethodSecurity
 @EnableConfigurationProperties(SecurityProperties.class)
-@ComponentScan(basePackages = "com.assessment.security")
+@ImportRuntimeHints(SecurityRuntimeHints.class)
 public class SecurityAutoConfiguration {
 
+    private static final String PUBLIC_PATHS = "/api/public/**";
+
+    /**
+     * Beans that are not needed to authenticate the first request.
+     */
+    private static final Set<String> NON_CRITICAL_BEANS = Set.of(
+            "jwkSetPublisher",
+            "jwkSetController",
+            "globalExceptionHandler"
+    );
+
     private final SecurityProperties securityProperties;
 
     public SecurityAutoConfiguration(SecurityProperties securityProperties) {
@@ -35,10 +105,72 @@ public class SecurityAutoConfiguration {
     }
 
 
+    @Bean
+    @ConditionalOnProperty(prefix = "security.jwt", name = "fast-start", havingValue = "true")
+    public static LazyBeansPostProcessor fastStartLazyBeans() {
+        return new LazyBeansPostProcessor(NON_CRITICAL_BEANS);
+    }
+
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.jwt", name = "fast-start", havingValue = "true")
+    public StartupTimelineReporter startupTimelineReporter() {
+        return new StartupTimelineReporter(securityProperties.getFastStartReportSize());
+    }
+
+
     @Bean
     @ConditionalOnMissingBean
-    public JwtUtil jwtUtil() {
-        return new JwtUtil(securityProperties.getSecret(), securityProperties.getExpiration());
+    public JwtUtil jwtUtil(
+            ObjectProvider<RemoteJwkSetClient> remoteJwkSetClient,
+            ObjectProvider<TenantRegistry> tenantRegistry) {
+        SecurityProperties.Rsa rsa = securityProperties.getRsa();
+        JwtKeyMaterial keyMaterial = rsa.isEnabled()
+                ? JwtKeyMaterial.rsa(rsa.getPrivateKey(), rsa.getPublicKey(), rsa.getKeyId())
+                : JwtKeyMaterial.hmac(securityProperties.getSecret());
+
+        JwtUtil jwtUtil = new JwtUtil(keyMaterial, securityProperties.getExpiration());
+        remoteJwkSetClient.ifAvailable(jwtUtil::setVerificationKeyLocator);
+        tenantRegistry.ifAvailable(registry -> jwtUtil.setTenantKeyResolver(registry::verificationKey));
+        return jwtUtil;
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TenantRegistry tenantRegistry() {
+        return TenantRegistry.from(securityProperties);
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenResolverChain tokenResolverChain() {
+        return TokenResolverChain.from(securityProperties);
+    }
+
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.jwt.jwks", name = "remote-uri")
+    public RemoteJwkSetClient remoteJwkSetClient() {
+        SecurityProperties.Jwks jwks = securityProperties.getJwks();
+        RemoteJwkSetClient client = new RemoteJwkSetClient(URI.create(jwks.getRemoteUri()), jwks.getRefreshInterval());
+        client.start();
+        return client;
+    }
+
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.jwt.jwks", name = "enabled", matchIfMissing = true)
+    public JwkSetPublisher jwkSetPublisher(JwtUtil jwtUtil) {
+        return new JwkSetPublisher(jwtUtil);
+    }
+
+
+    @Bean
+    @ConditionalOnProperty(prefix = "security.jwt.jwks", name = "enabled", matchIfMissing = true)
+    public JwkSetController jwkSetController(JwkSetPublisher jwkSetPublisher) {
+        return new JwkSetController(jwkSetPublisher, securityProperties);
     }
 
 
@@ -50,27 +182,247 @@ public class SecurityAutoConfiguration {
 
 
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtUtil jwtUtil) {
-        return new JwtAuthenticationFilter(jwtUtil, securityProperties);
+    @ConditionalOnMissingBean
+    public GlobalExceptionHandler globalExceptionHandler(SecurityEventPublisher securityEventPublisher) {
+        return new GlobalExceptionHandler(securityEventPublisher);
+    }
+
+
+    /**
+     * The audit bus when {@code security.jwt.audit.enabled=true}, otherwise a no-op publisher.
+     * Application-defined {@link SecurityEventSink} beans receive events alongside the log file.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityEventPublisher securityEventPublisher(ObjectProvider<SecurityEventSink> sinks) throws IOException {
+        SecurityProperties.Audit audit = securityProperties.getAudit();
+        if (!audit.isEnabled()) {
+            return SecurityEventPublisher.NOOP;
+        }
+
+        List<SecurityEventSink> allSinks = new ArrayList<>();
+        if (audit.getDirectory() != null && !audit.getDirectory().isBlank()) {
+            allSinks.add(new MappedAuditLogSink(Path.of(audit.getDirectory()), audit.getSegmentSize(), audit.getForceInterval()));
+        }
+        sinks.orderedStream().forEach(allSinks::add);
+        return new SecurityEventBus(allSinks, audit.getCapacity(), audit.getBackpressure(), audit.getBlockTimeout());
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public SecurityContextTaskDecorator securityContextTaskDecorator() {
+        return new SecurityContextTaskDecorator();
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt", name = "token-mode", havingValue = "opaque")
+    public TokenStore tokenStore() {
+        return new InMemoryTokenStore(securityProperties.getOpaqueMaxTokens());
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenIssuer tokenIssuer(
+            JwtUtil jwtUtil,
+            ObjectProvider<TokenStore> tokenStore,
+            TenantRegistry tenantRegistry,
+            SecurityEventPublisher securityEventPublisher) {
+        TokenIssuer tokenIssuer = new TokenIssuer(jwtUtil, tokenStore.getIfAvailable(), tenantRegistry, securityProperties);
+        tokenIssuer.setSecurityEventPublisher(securityEventPublisher);
+        return tokenIssuer;
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.concurrency-limit", name = "enabled", havingValue = "true")
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        SecurityProperties.ConcurrencyLimit limit = securityProperties.getConcurrencyLimit();
+        return new AdaptiveConcurrencyLimiter(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit());
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.quota", name = "enabled", havingValue = "true")
+    public UserQuotaTable userQuotaTable() {
+        SecurityProperties.Quota quota = securityProperties.getQuota();
+        return new UserQuotaTable(quota.getLimit(), quota.getWindow(), quota.getMaxUsers());
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean(RoleHierarchy.class)
+    @Conditional(OnRoleHierarchyCondition.class)
+    public BitSetRoleHierarchy roleHierarchy() {
+        return new BitSetRoleHierarchy(securityProperties.getRoleHierarchy());
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean(MethodSecurityExpressionHandler.class)
+    @Conditional(OnRoleHierarchyCondition.class)
+    public JwtMethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            ObjectProvider<RoleHierarchy> roleHierarchy) {
+        JwtMethodSecurityExpressionHandler handler = new JwtMethodSecurityExpressionHandler();
+        // Authentications other than hierarchy-expanded JWTs go through Spring's own check
+        roleHierarchy.ifAvailable(handler::setRoleHierarchy);
+        return handler;
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "security.jwt.dpop", name = "enabled", havingValue = "true")
+    public DpopProofVerifier dpopProofVerifier() {
+        SecurityProperties.Dpop dpop = securityProperties.getDpop();
+        return new DpopProofVerifier(dpop.getProofMaxAge(), dpop.getClockSkew(), dpop.getReplayCacheSize());
+    }
+
+
+    @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(
+            JwtUtil jwtUtil,
+            ObjectProvider<TokenStore> tokenStore,
+            TenantRegistry tenantRegistry,
+            TokenResolverChain tokenResolverChain,
+            SecurityEventPublisher securityEventPublisher,
+            ObjectProvider<AdaptiveConcurrencyLimiter> concurrencyLimiter,
+            ObjectProvider<DpopProofVerifier> dpopProofVerifier,
+            ObjectProvider<InternalListener> internalListener,
+            ObjectProvider<ConnectionIdentityCache> connectionIdentityCache,
+            ObjectProvider<BitSetRoleHierarchy> roleHierarchy,
+            ObjectProvider<UserQuotaTable> quotaTable) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(
+                jwtUtil, tokenStore.getIfAvailable(), tenantRegistry, tokenResolverChain, securityProperties);
+        filter.setSecurityEventPublisher(securityEventPublisher);
+        roleHierarchy.ifAvailable(filter::setRoleHierarchy);
+        dpopProofVerifier.ifAvailable(filter::setDpopProofVerifier);
+        quotaTable.ifAvailable(filter::setQuotaTable);
+        internalListener.ifAvailable(listener -> connectionIdentityCache.ifAvailable(
+                cache -> filter.setConnectionIdentityCache(cache, listener)));
+        concurrencyLimiter.ifAvailable(limiter -> filter.setConcurrencyLimiter(
+                limiter,
+                new OrRequestMatcher(
+                        AntPathRequestMatcher.antMatcher(PUBLIC_PATHS),
+                        AntPathRequestMatcher.antMatcher(securityProperties.getJwks().getPath()),
+                        tenantRegistry::isPublicPath),
+                securityProperties.getConcurrencyLimit().getRetryAfter()));
+        return filter;
     }
 
     @Bean
     @ConditionalOnMissingBean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
-        
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            TenantRegistry tenantRegistry,
+            SecurityEventPublisher securityEventPublisher) throws Exception {
+        AuthenticationEntryPoint forbidden = new Http403ForbiddenEntryPoint();
+        AccessDeniedHandler accessDenied = new AccessDeniedHandlerImpl();
+
+        String tokenCookie = TokenResolverChain.cookieName(securityProperties);
+        if (tokenCookie == null) {
+            http.csrf(AbstractHttpConfigurer::disable);
+        } else {
+            // Browsers attach the token cookie to cross-site requests, so unsafe requests
+            // carrying it must double-submit the XSRF-TOKEN cookie in the X-XSRF-TOKEN header
+            http
+                    .csrf(csrf -> csrf
+                            .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
+                            .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
+                            .requireCsrfProtectionMatcher(new AndRequestMatcher(
+                                    CsrfFilter.DEFAULT_CSRF_MATCHER,
+                                    TokenResolverChain.carriesCookie(tokenCookie)))
+                            .ignoringRequestMatchers(PUBLIC_PATHS)
+                            .ignoringRequestMatchers(tenantRegistry::isPublicPath))
+                    .addFilterAfter(new CsrfCookieFilter(), CsrfFilter.class);
+        }
+
         http
-                .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/public/**").permitAll()
+                        .requestMatchers(PUBLIC_PATHS).permitAll()
+                        .requestMatchers(securityProperties.getJwks().getPath()).permitAll()
+                        .requestMatchers(tenantRegistry::isPublicPath).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((request, response, ex) -> {
+                            securityEventPublisher.publish(
+                                    SecurityEvent.of(SecurityEventType.UNAUTHORIZED, request, ex.getClass().getSimpleName()));
+                            forbidden.commence(request, response, ex);
+                        })
+                        .accessDeniedHandler((request, response, ex) -> {
+                            securityEventPublisher.publish(
+                                    SecurityEvent.of(SecurityEventType.ACCESS_DENIED, request, ex.getMessage()));
+                            accessDenied.handle(request, response, ex);
+                        })
+                )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+
+    /**
+     * Second connector for service-to-service traffic; needs embedded Tomcat.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Tomcat.class)
+    @ConditionalOnProperty(prefix = "security.jwt.internal-listener", name = "enabled", havingValue = "true")
+    static class InternalListenerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public InternalListener internalListener(SecurityProperties securityProperties) {
+            SecurityProperties.InternalListener listener = securityProperties.getInternalListener();
+            return new InternalListener(listener.getPort(), listener.getBindAddress());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ConnectionIdentityCache connectionIdentityCache(SecurityProperties securityProperties, JwtUtil jwtUtil) {
+            SecurityProperties.InternalListener listener = securityProperties.getInternalListener();
+            ConnectionIdentityCache cache = new ConnectionIdentityCache(listener.getMaxConnections(), listener.getIdleTimeout());
+            // Identities verified with a retired key must not outlive it
+            jwtUtil.addKeyChangeListener(rotated -> cache.clear());
+            return cache;
+        }
+    }
+
+    /**
+     * Exports limiter state when Micrometer is on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    static class ConcurrencyLimiterMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnProperty(prefix = "security.jwt.concurrency-limit", name = "enabled", havingValue = "true")
+        public ConcurrencyLimiterMetrics concurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter) {
+            return new ConcurrencyLimiterMetrics(limiter);
+        }
+    }
+
+
+    /**
+     * Exports the internal listener's identity cache when Micrometer is on the classpath.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterBinder.class, Tomcat.class})
+    @ConditionalOnProperty(prefix = "security.jwt.internal-listener", name = "enabled", havingValue = "true")
+    static class ConnectionIdentityCacheMetricsConfiguration {
+
+        @Bean
+        public ConnectionIdentityCacheMetrics connectionIdentityCacheMetrics(ConnectionIdentityCache cache) {
+            return new ConnectionIdentityCacheMetrics(cache);
+        }
+    }
 }
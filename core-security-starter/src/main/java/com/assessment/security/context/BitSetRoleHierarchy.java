@@ -0,0 +1,190 @@
+package com.assessment.security.context;
+
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Role hierarchy whose transitive closure is computed once, at construction,
+ * into one bitset per role. Tokens carry only the base role; the filter resolves
+ * it to the precomputed bitset of every role it implies, and {@code hasRole}
+ * checks test a single bit of it (see {@link JwtAuthenticationToken#hasAuthority}).
+ * Role names without the {@code ROLE_} prefix get it added.
+ */
+public final class BitSetRoleHierarchy implements RoleHierarchy {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final GrantedAuthority[] authorities;
+    private final long[][] reachable;
+    private final List<List<GrantedAuthority>> expanded;
+
+    /**
+     * @param impliedRoles roles each role directly implies, e.g. {@code ADMIN -> [USER]}
+     * @throws IllegalStateException if the hierarchy contains a cycle
+     */
+    public BitSetRoleHierarchy(Map<String, ? extends Collection<String>> impliedRoles) {
+        Set<String> roles = new LinkedHashSet<>();
+        impliedRoles.forEach((role, implied) -> {
+            roles.add(normalize(role));
+            implied.forEach(child -> roles.add(normalize(child)));
+        });
+
+        int n = roles.size();
+        this.authorities = new GrantedAuthority[n];
+        this.reachable = new long[n][(n + 63) >>> 6];
+        for (String role : roles) {
+            int i = index.size();
+            index.put(role, i);
+            authorities[i] = new SimpleGrantedAuthority(role);
+            set(reachable[i], i);
+        }
+        impliedRoles.forEach((role, implied) -> {
+            long[] row = reachable[index.get(normalize(role))];
+            implied.forEach(child -> set(row, index.get(normalize(child))));
+        });
+
+        // Warshall: whoever reaches k also reaches everything k reaches
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                if (i != k && isSet(reachable[i], k)) {
+                    or(reachable[i], reachable[k]);
+                }
+            }
+        }
+
+        List<List<GrantedAuthority>> expanded = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (isSet(reachable[i], j) && isSet(reachable[j], i)) {
+                    throw new IllegalStateException("Cycle in role hierarchy between "
+                            + authorities[i].getAuthority() + " and " + authorities[j].getAuthority());
+                }
+            }
+            expanded.add(toAuthorities(reachable[i]));
+        }
+        this.expanded = List.copyOf(expanded);
+    }
+
+    /**
+     * Whether {@code authority} is one of the roles in this hierarchy, and so
+     * answered by {@link #isReachable} rather than by scanning authorities.
+     */
+    public boolean contains(String authority) {
+        return authority != null && index.containsKey(authority);
+    }
+
+    /**
+     * Authorities for the base roles of a token, including every implied role.
+     * A single known role is a lookup of its precomputed list.
+     */
+    public List<GrantedAuthority> expand(List<String> roles) {
+        if (roles.size() == 1) {
+            Integer i = index.get(roles.get(0));
+            if (i != null) {
+                return expanded.get(i);
+            }
+        }
+        List<GrantedAuthority> base = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            base.add(new SimpleGrantedAuthority(role));
+        }
+        return List.copyOf(getReachableGrantedAuthorities(base));
+    }
+
+    /**
+     * Bitset, indexed like this hierarchy, of every role reachable from the base
+     * {@code roles}. A single known role returns its precomputed row, which is
+     * shared and must not be modified.
+     */
+    long[] reachable(List<String> roles) {
+        if (roles.size() == 1) {
+            Integer i = index.get(roles.get(0));
+            if (i != null) {
+                return reachable[i];
+            }
+        }
+        long[] union = new long[words()];
+        for (String role : roles) {
+            Integer i = index.get(role);
+            if (i != null) {
+                or(union, reachable[i]);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Whether {@code authority} is set in a bitset from {@link #reachable}:
+     * one map lookup for its index and one bit test.
+     */
+    boolean isReachable(long[] bits, String authority) {
+        Integer i = authority == null ? null : index.get(authority);
+        return i != null && isSet(bits, i);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getReachableGrantedAuthorities(
+            Collection<? extends GrantedAuthority> granted) {
+        if (granted == null || granted.isEmpty()) {
+            return List.of();
+        }
+        long[] union = new long[words()];
+        List<GrantedAuthority> result = new ArrayList<>();
+        for (GrantedAuthority authority : granted) {
+            Integer i = authority.getAuthority() == null ? null : index.get(authority.getAuthority());
+            if (i != null) {
+                or(union, reachable[i]);
+            } else if (!result.contains(authority)) {
+                // Not part of the hierarchy (e.g. a scope); passed through unchanged
+                result.add(authority);
+            }
+        }
+        result.addAll(toAuthorities(union));
+        return result;
+    }
+
+    private int words() {
+        return reachable.length == 0 ? 0 : reachable[0].length;
+    }
+
+    private List<GrantedAuthority> toAuthorities(long[] bits) {
+        List<GrantedAuthority> result = new ArrayList<>();
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                result.add(authorities[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static String normalize(String role) {
+        String trimmed = role.trim();
+        return trimmed.startsWith(ROLE_PREFIX) ? trimmed : ROLE_PREFIX + trimmed;
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static boolean isSet(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= source[w];
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.assessment.security.context;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact, always-authenticated {@link Authentication} created by the JWT filter.
+ * Carries the verified {@link JwtPrincipal} so callers can read the userId,
+ * roles and expiry without a database lookup. Request details are built on
+ * first access from the captured remote address and never touch the session.
+ * A deserialized token answers {@link #hasAuthority} from its authority list,
+ * as the role hierarchy is not serialized with it.
+ */
+public final class JwtAuthenticationToken implements Authentication {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Authorities shared between tokens are interned up to this many role names;
+     * beyond it, e.g. if a trusted issuer mints arbitrary role names, they are
+     * created per token instead of growing the map.
+     */
+    private static final int MAX_INTERNED_AUTHORITIES = 256;
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private final JwtPrincipal principal;
+    // Always an immutable List.of/List.copyOf list, which is serializable
+    @SuppressWarnings("serial")
+    private final List<GrantedAuthority> authorities;
+    private final transient BitSetRoleHierarchy roleHierarchy;
+    private final transient long[] roleBits;
+    private final String remoteAddress;
+    private transient WebAuthenticationDetails details;
+
+    public JwtAuthenticationToken(JwtPrincipal principal, String remoteAddress) {
+        this(principal, toAuthorities(principal.roles()), null, null, remoteAddress);
+    }
+
+    /**
+     * Grants the principal's roles and every role they imply in {@code roleHierarchy}.
+     */
+    public JwtAuthenticationToken(JwtPrincipal principal, BitSetRoleHierarchy roleHierarchy, String remoteAddress) {
+        this(principal, roleHierarchy.expand(principal.roles()), roleHierarchy,
+                roleHierarchy.reachable(principal.roles()), remoteAddress);
+    }
+
+    private JwtAuthenticationToken(JwtPrincipal principal, List<GrantedAuthority> authorities,
+                                   BitSetRoleHierarchy roleHierarchy, long[] roleBits, String remoteAddress) {
+        this.principal = Objects.requireNonNull(principal, "principal");
+        this.authorities = List.copyOf(authorities);
+        this.roleHierarchy = roleHierarchy;
+        this.roleBits = roleBits;
+        this.remoteAddress = remoteAddress;
+    }
+
+    private static List<GrantedAuthority> toAuthorities(List<String> roles) {
+        return switch (roles.size()) {
+            case 0 -> List.of();
+            case 1 -> List.of(authority(roles.get(0)));
+            default -> roles.stream().map(JwtAuthenticationToken::authority).toList();
+        };
+    }
+
+    private static GrantedAuthority authority(String role) {
+        GrantedAuthority authority = AUTHORITIES.get(role);
+        if (authority != null) {
+            return authority;
+        }
+        authority = new SimpleGrantedAuthority(role);
+        if (AUTHORITIES.size() < MAX_INTERNED_AUTHORITIES) {
+            GrantedAuthority interned = AUTHORITIES.putIfAbsent(role, authority);
+            return interned != null ? interned : authority;
+        }
+        return authority;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Whether this token grants {@code authority}. Roles of the hierarchy are a
+     * bit test against the token's precomputed bitset; anything else, such as a
+     * role outside the hierarchy, is looked up in the authority list.
+     */
+    public boolean hasAuthority(String authority) {
+        if (roleHierarchy != null && roleHierarchy.contains(authority)) {
+            return roleHierarchy.isReachable(roleBits, authority);
+        }
+        for (GrantedAuthority granted : authorities) {
+            if (granted.getAuthority().equals(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@link #hasAuthority} answers roles from a hierarchy's bitset.
+     */
+    boolean isRoleHierarchyExpanded() {
+        return roleHierarchy != null;
+    }
+
+    /**
+     * Tokens are never kept as credentials once verified.
+     */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        WebAuthenticationDetails current = details;
+        if (current == null) {
+            current = new WebAuthenticationDetails(remoteAddress, null);
+            details = current;
+        }
+        return current;
+    }
+
+    @Override
+    public JwtPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        throw new IllegalArgumentException("JwtAuthenticationToken is immutable; clear the security context instead");
+    }
+
+    @Override
+    public String getName() {
+        return principal.username();
+    }
+
+    public String getUserId() {
+        return principal.userId();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JwtAuthenticationToken other)) {
+            return false;
+        }
+        return principal.equals(other.principal)
+                && authorities.equals(other.authorities)
+                && Objects.equals(remoteAddress, other.remoteAddress);
+    }
+
+    @Override
+    public int hashCode() {
+        return principal.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthenticationToken[user=" + principal.username()
+                + ", userId=" + principal.userId()
+                + ", authorities=" + authorities + "]";
+    }
+}
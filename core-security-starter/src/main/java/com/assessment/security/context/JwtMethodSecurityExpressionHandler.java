@@ -0,0 +1,26 @@
+package com.assessment.security.context;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Method security expression handler whose {@code hasRole} checks test the
+ * role bitset of hierarchy-expanded {@link JwtAuthenticationToken}s instead of
+ * scanning their authorities.
+ */
+public class JwtMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, mi);
+        context.setRootObject(new JwtSecurityExpressionRoot(
+                (MethodSecurityExpressionOperations) context.getRootObject().getValue()));
+        return context;
+    }
+}
@@ -0,0 +1,69 @@
+package com.assessment.security.context;
+
+import com.assessment.security.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable identity built once from verified JWT claims.
+ * Safe to share across threads, so async work can carry it without
+ * re-parsing the token. {@code keyThumbprint} is the {@code cnf.jkt} of
+ * sender-constrained tokens, {@code null} for plain bearer tokens.
+ */
+public record JwtPrincipal(
+        String userId,
+        String username,
+        List<String> roles,
+        Instant expiresAt,
+        String tenantId,
+        String keyThumbprint) implements Principal, Serializable {
+
+    public JwtPrincipal {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public JwtPrincipal(String userId, String username, List<String> roles, Instant expiresAt, String tenantId) {
+        this(userId, username, roles, expiresAt, tenantId, null);
+    }
+
+    /**
+     * Creates a principal from already verified claims.
+     */
+    @SuppressWarnings("unchecked")
+    public static JwtPrincipal from(Claims claims) {
+        return new JwtPrincipal(
+                claims.get("userId", String.class),
+                claims.getSubject(),
+                (List<String>) claims.get("roles"),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.get(JwtUtil.TENANT_CLAIM, String.class),
+                claims.get(JwtUtil.CONFIRMATION_CLAIM) instanceof Map<?, ?> cnf && cnf.get("jkt") instanceof String jkt
+                        ? jkt
+                        : null
+        );
+    }
+
+    /**
+     * Returns the principal of the current thread's authentication, if it was created by the JWT filter.
+     */
+    public static Optional<JwtPrincipal> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
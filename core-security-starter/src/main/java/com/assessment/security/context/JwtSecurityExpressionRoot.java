@@ -0,0 +1,136 @@
+package com.assessment.security.context;
+
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Expression root answering {@code hasRole} and {@code hasAuthority} for
+ * hierarchy-expanded {@link JwtAuthenticationToken}s from their role bitset.
+ * Spring's own root copies every authority into a set on each evaluation and
+ * its checks are final, so it is wrapped; everything else, and any other
+ * authentication, goes to the wrapped root.
+ */
+final class JwtSecurityExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final MethodSecurityExpressionOperations delegate;
+
+    JwtSecurityExpressionRoot(MethodSecurityExpressionOperations delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        return hasAnyAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        JwtAuthenticationToken token = expandedToken();
+        if (token == null) {
+            return delegate.hasAnyAuthority(authorities);
+        }
+        for (String authority : authorities) {
+            if (token.hasAuthority(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        return hasAnyRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        JwtAuthenticationToken token = expandedToken();
+        if (token == null) {
+            return delegate.hasAnyRole(roles);
+        }
+        for (String role : roles) {
+            if (token.hasAuthority(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private JwtAuthenticationToken expandedToken() {
+        return delegate.getAuthentication() instanceof JwtAuthenticationToken token && token.isRoleHierarchyExpanded()
+                ? token
+                : null;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+}
@@ -0,0 +1,141 @@
+package com.assessment.security.context;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries the caller's {@link Authentication} into tasks run on other threads.
+ * Only the (immutable) authentication reference is captured; each task gets a
+ * fresh context that is cleared again when it finishes, so pooled threads
+ * never leak identity between tasks.
+ */
+public final class SecurityContextPropagation {
+
+    private static final SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+
+    private SecurityContextPropagation() {
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Authentication authentication = strategy.getContext().getAuthentication();
+        if (authentication == null) {
+            return task;
+        }
+        return () -> {
+            SecurityContext previous = install(authentication);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Authentication authentication = strategy.getContext().getAuthentication();
+        if (authentication == null) {
+            return task;
+        }
+        return () -> {
+            SecurityContext previous = install(authentication);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps an executor so every submitted task runs as the submitting user.
+     * Intended for {@code CompletableFuture.supplyAsync(..., executor)}.
+     */
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * Wraps an executor service so every submitted task runs as the submitting
+     * user. Shutting down the wrapper shuts down {@code executor}.
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        return new PropagatingExecutorService(executor);
+    }
+
+    /**
+     * Virtual-thread-per-task executor that propagates the caller's authentication.
+     * The caller owns it and should close it, e.g. with try-with-resources.
+     */
+    public static ExecutorService virtualThreadExecutor() {
+        return wrap(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    private static SecurityContext install(Authentication authentication) {
+        SecurityContext previous = strategy.getContext();
+        SecurityContext context = strategy.createEmptyContext();
+        context.setAuthentication(authentication);
+        strategy.setContext(context);
+        return previous;
+    }
+
+    private static void restore(SecurityContext previous) {
+        if (previous.getAuthentication() == null) {
+            strategy.clearContext();
+        } else {
+            strategy.setContext(previous);
+        }
+    }
+
+    /**
+     * {@code submit} and {@code invokeAll} call {@link #execute} on the submitting
+     * thread, so wrapping there captures the submitter's authentication.
+     */
+    private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        PropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(wrap(task));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
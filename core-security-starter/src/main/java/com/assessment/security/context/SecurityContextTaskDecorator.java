@@ -0,0 +1,15 @@
+package com.assessment.security.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Propagates the caller's authentication into {@code @Async} methods.
+ * Picked up by Spring Boot's auto-configured task executor.
+ */
+public class SecurityContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return SecurityContextPropagation.wrap(runnable);
+    }
+}
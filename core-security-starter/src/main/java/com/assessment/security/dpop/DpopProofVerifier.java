@@ -0,0 +1,195 @@
+package com.assessment.security.dpop;
+
+import com.assessment.security.exception.AuthenticationException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.PublicJwk;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Enumeration;
+
+/**
+ * Verifies DPoP proofs (RFC 9449): a JWT of type {@code dpop+jwt}, signed by the
+ * private half of the public JWK in its header, naming the request method
+ * ({@code htm}) and URL ({@code htu}), issued within {@code proofMaxAge} and,
+ * when presented with an access token, carrying the token's SHA-256 hash
+ * ({@code ath}). Each proof id ({@code jti}) is accepted once per key.
+ */
+public class DpopProofVerifier {
+
+    /**
+     * Request header carrying the proof.
+     */
+    public static final String HEADER = "DPoP";
+
+    private static final String PROOF_TYPE = "dpop+jwt";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtParser parser;
+    private final JtiReplayCache replayCache;
+    private final long maxAgeMillis;
+    private final long clockSkewMillis;
+
+    public DpopProofVerifier(Duration proofMaxAge, Duration clockSkew, int replayCacheSize) {
+        // A proof can be replayed until proofMaxAge after its iat, give or take the skew on either end
+        this(proofMaxAge, clockSkew, new JtiReplayCache(proofMaxAge.plus(clockSkew.multipliedBy(2)), replayCacheSize));
+    }
+
+    public DpopProofVerifier(Duration proofMaxAge, Duration clockSkew, JtiReplayCache replayCache) {
+        this.parser = Jwts.parser()
+                .keyLocator(new EmbeddedKeyLocator())
+                .clockSkewSeconds(clockSkew.toSeconds())
+                .build();
+        this.replayCache = replayCache;
+        this.maxAgeMillis = proofMaxAge.toMillis();
+        this.clockSkewMillis = clockSkew.toMillis();
+    }
+
+    /**
+     * Returns the single proof sent with the request, or {@code null} if there is none.
+     *
+     * @throws AuthenticationException if the request carries more than one proof
+     */
+    public static String proof(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(HEADER);
+        if (values == null || !values.hasMoreElements()) {
+            return null;
+        }
+        String proof = values.nextElement();
+        if (values.hasMoreElements()) {
+            throw new AuthenticationException("Multiple DPoP proofs");
+        }
+        return proof;
+    }
+
+    /**
+     * Verifies a proof for the given request and returns the base64url SHA-256
+     * thumbprint of its key ({@code jkt}).
+     *
+     * @param accessToken token the proof must be bound to, or {@code null} when requesting one
+     * @throws AuthenticationException if the proof is invalid, stale or replayed
+     */
+    public String verify(String proof, String method, String url, String accessToken) {
+        CheckedProof checked = check(proof, method, url, accessToken);
+        markUsed(checked);
+        return checked.thumbprint();
+    }
+
+    /**
+     * Checks the proof's signature, request binding and freshness without recording
+     * its id. Callers that still have to authenticate the request call
+     * {@link #markUsed} only once it has succeeded, so anonymous clients cannot
+     * fill the replay cache with proofs of their own.
+     *
+     * @throws AuthenticationException if the proof is invalid or stale
+     */
+    public CheckedProof check(String proof, String method, String url, String accessToken) {
+        Jws<Claims> jws;
+        try {
+            jws = parser.parseSignedClaims(proof);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new AuthenticationException("Invalid DPoP proof");
+        }
+        JwsHeader header = jws.getHeader();
+        Claims claims = jws.getPayload();
+        if (!PROOF_TYPE.equals(header.getType())) {
+            throw new AuthenticationException("Invalid DPoP proof type");
+        }
+        if (!method.equals(claims.get("htm", String.class)) || !url.equals(withoutQuery(claims.get("htu", String.class)))) {
+            throw new AuthenticationException("DPoP proof does not match the request");
+        }
+
+        long now = System.currentTimeMillis();
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt == null
+                || issuedAt.getTime() > now + clockSkewMillis
+                || issuedAt.getTime() < now - maxAgeMillis - clockSkewMillis) {
+            throw new AuthenticationException("DPoP proof expired");
+        }
+        if (accessToken != null && !tokenHash(accessToken).equals(claims.get("ath", String.class))) {
+            throw new AuthenticationException("DPoP proof is not bound to the access token");
+        }
+        if (claims.getId() == null) {
+            throw new AuthenticationException("DPoP proof has no jti");
+        }
+        return new CheckedProof(header.getJwk().thumbprint().toString(), claims.getId());
+    }
+
+    /**
+     * Records the proof's id so it is not accepted again.
+     *
+     * @throws AuthenticationException if the id was already used with the same key
+     */
+    public void markUsed(CheckedProof proof) {
+        if (!replayCache.add(proof.thumbprint() + ':' + proof.jti(), System.currentTimeMillis())) {
+            throw new AuthenticationException("DPoP proof replayed");
+        }
+    }
+
+    public JtiReplayCache getReplayCache() {
+        return replayCache;
+    }
+
+    /**
+     * Value of the {@code ath} claim for an access token.
+     */
+    public static String tokenHash(String accessToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(accessToken.getBytes(StandardCharsets.US_ASCII));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static String withoutQuery(String htu) {
+        if (htu == null) {
+            return null;
+        }
+        int end = htu.length();
+        int query = htu.indexOf('?');
+        if (query >= 0) {
+            end = query;
+        }
+        int fragment = htu.indexOf('#');
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return htu.substring(0, end);
+    }
+
+    /**
+     * A proof that passed {@link #check} and has not necessarily been recorded yet.
+     *
+     * @param thumbprint base64url SHA-256 thumbprint of the proof's key ({@code jkt})
+     */
+    public record CheckedProof(String thumbprint, String jti) {
+    }
+
+    /**
+     * Verifies with the public key embedded in the proof's {@code jwk} header.
+     */
+    private static final class EmbeddedKeyLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            PublicJwk<?> jwk = header.getJwk();
+            if (jwk == null) {
+                throw new AuthenticationException("DPoP proof has no jwk header");
+            }
+            return jwk.toKey();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.assessment.security.dpop;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers proof ids for at least {@code retention} so each is accepted once.
+ * Ids are spread over lock stripes by hash; within a stripe they sit in a ring
+ * of time buckets, and a bucket is cleared when the ring comes back round to it,
+ * so expiry costs nothing beyond the lookup that triggers it. Each stripe holds
+ * at most {@code capacity / stripes} ids; a proof arriving at a full stripe is
+ * refused rather than letting memory grow.
+ */
+public class JtiReplayCache {
+
+    private static final int BUCKETS = 8;
+
+    private final long bucketMillis;
+    private final int stripeCapacity;
+    private final Stripe[] stripes;
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public JtiReplayCache(Duration retention, int capacity) {
+        this(retention, capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param stripes lock stripes; rounded up to a power of two
+     */
+    public JtiReplayCache(Duration retention, int capacity, int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        // BUCKETS - 1 full buckets always cover the retention
+        this.bucketMillis = Math.max(1, (retention.toMillis() + BUCKETS - 2) / (BUCKETS - 1));
+        this.stripeCapacity = Math.max(1, capacity / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Records {@code jti} as seen at {@code nowMillis}.
+     *
+     * @return {@code true} if it was not seen within the retention and there was room to remember it
+     */
+    public boolean add(String jti, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Stripe stripe = stripes[spread(jti.hashCode()) & (stripes.length - 1)];
+        synchronized (stripe) {
+            int live = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (stripe.epochs[i] <= epoch - BUCKETS) {
+                    stripe.expire(i);
+                } else if (stripe.ids.get(i).contains(jti)) {
+                    replays.increment();
+                    return false;
+                } else {
+                    live += stripe.ids.get(i).size();
+                }
+            }
+            if (live >= stripeCapacity) {
+                overflows.increment();
+                return false;
+            }
+            int bucket = (int) (epoch % BUCKETS);
+            if (stripe.epochs[bucket] != epoch) {
+                stripe.expire(bucket);
+                stripe.epochs[bucket] = epoch;
+            }
+            stripe.ids.get(bucket).add(jti);
+            return true;
+        }
+    }
+
+    /**
+     * Ids currently remembered, including expired ones not yet cleared.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Set<String> ids : stripe.ids) {
+                    size += ids.size();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Proofs refused because their id had been seen.
+     */
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    /**
+     * Proofs refused because their stripe was full.
+     */
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+
+        final long[] epochs = new long[BUCKETS];
+        final List<Set<String>> ids = new ArrayList<>(BUCKETS);
+
+        Stripe() {
+            for (int i = 0; i < BUCKETS; i++) {
+                epochs[i] = Long.MIN_VALUE;
+                ids.add(new HashSet<>());
+            }
+        }
+
+        void expire(int bucket) {
+            if (!ids.get(bucket).isEmpty()) {
+                ids.get(bucket).clear();
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.assessment.security.exception;
 
+import com.assessment.security.audit.SecurityEvent;
+import com.assessment.security.audit.SecurityEventPublisher;
+import com.assessment.security.audit.SecurityEventType;
 import com.assessment.security.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -18,8 +21,24 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Request attribute set by code that has already audited the authentication
+     * failure it rethrows, e.g. a failed login, so no second event is published for it.
+     */
+    public static final String AUDITED_ATTRIBUTE = GlobalExceptionHandler.class.getName() + ".AUDITED";
+
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final SecurityEventPublisher securityEventPublisher;
+
+    public GlobalExceptionHandler() {
+        this(SecurityEventPublisher.NOOP);
+    }
+
+    public GlobalExceptionHandler(SecurityEventPublisher securityEventPublisher) {
+        this.securityEventPublisher = securityEventPublisher;
+    }
+
     /**
      * Handles Spring Security authentication failures.
      * Returns 401 Unauthorized.
@@ -30,6 +49,7 @@ public class GlobalExceptionHandler {
             HttpServletRequest request) {
         
         logger.warn("Authentication failed: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        publishUnauthorized(request, ex.getMessage());
         
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.UNAUTHORIZED.value(),
@@ -51,6 +71,7 @@ public class GlobalExceptionHandler {
             HttpServletRequest request) {
         
         logger.warn("Access denied: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        securityEventPublisher.publish(SecurityEvent.of(SecurityEventType.ACCESS_DENIED, request, ex.getMessage()));
         
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.FORBIDDEN.value(),
@@ -72,6 +93,7 @@ public class GlobalExceptionHandler {
             HttpServletRequest request) {
         
         logger.warn("Custom authentication failed: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        publishUnauthorized(request, ex.getMessage());
         
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.UNAUTHORIZED.value(),
@@ -93,6 +115,7 @@ public class GlobalExceptionHandler {
             HttpServletRequest request) {
         
         logger.warn("Custom authorization failed: {} for path: {}", ex.getMessage(), request.getRequestURI());
+        securityEventPublisher.publish(SecurityEvent.of(SecurityEventType.ACCESS_DENIED, request, ex.getMessage()));
         
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.FORBIDDEN.value(),
@@ -124,4 +147,10 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
+
+    private void publishUnauthorized(HttpServletRequest request, String detail) {
+        if (request.getAttribute(AUDITED_ATTRIBUTE) == null) {
+            securityEventPublisher.publish(SecurityEvent.of(SecurityEventType.UNAUTHORIZED, request, detail));
+        }
+    }
 }
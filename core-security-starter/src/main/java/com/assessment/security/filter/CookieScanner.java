@@ -0,0 +1,49 @@
+package com.assessment.security.filter;
+
+/**
+ * Finds one cookie in a raw {@code Cookie} header value ({@code a=1; b="2"})
+ * without splitting the header or allocating anything but the result.
+ */
+final class CookieScanner {
+
+    private CookieScanner() {
+    }
+
+    /**
+     * Returns the value of the first cookie called {@code name}, unquoted, or
+     * {@code null} if it is absent or empty.
+     */
+    static String find(String header, String name) {
+        int length = header.length();
+        int i = 0;
+        while (i < length) {
+            // Skip separators and whitespace before the cookie name
+            char c = header.charAt(i);
+            if (c == ' ' || c == '\t' || c == ';' || c == ',') {
+                i++;
+                continue;
+            }
+
+            int end = header.indexOf(';', i);
+            if (end < 0) {
+                end = length;
+            }
+            if (header.startsWith(name, i) && i + name.length() < end && header.charAt(i + name.length()) == '=') {
+                return value(header, i + name.length() + 1, end);
+            }
+            i = end + 1;
+        }
+        return null;
+    }
+
+    private static String value(String header, int start, int end) {
+        while (end > start && header.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end - start >= 2 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+            start++;
+            end--;
+        }
+        return end > start ? header.substring(start, end) : null;
+    }
+}
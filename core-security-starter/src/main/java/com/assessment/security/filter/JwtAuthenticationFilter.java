@@ -1,6 +1,19 @@
 package com.assessment.security.filter;
 
+import com.assessment.security.audit.SecurityEvent;
+import com.assessment.security.audit.SecurityEventPublisher;
+import com.assessment.security.audit.SecurityEventType;
+import com.assessment.security.context.BitSetRoleHierarchy;
+import com.assessment.security.context.JwtAuthenticationToken;
+import com.assessment.security.context.JwtPrincipal;
+import com.assessment.security.dpop.DpopProofVerifier;
+import com.assessment.security.exception.AuthenticationException;
+import com.assessment.security.internal.ConnectionIdentityCache;
+import com.assessment.security.limit.AdaptiveConcurrencyLimiter;
 import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.quota.UserQuotaTable;
+import com.assessment.security.tenant.TenantRegistry;
+import com.assessment.security.token.TokenStore;
 import com.assessment.security.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,97 +21,304 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.Duration;
+import java.util.Map;
 
 /**
  * JWT authentication filter that intercepts requests and validates JWT tokens.
  * Runs once per request before Spring Security's filter chain.
+ * The token is taken from the first transport in {@link TokenResolverChain} that carries one.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
-    private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String SHED_BODY =
+            "{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\"Server is overloaded, retry later\"}";
+    private static final String QUOTA_BODY =
+            "{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Request quota exceeded, retry later\"}";
 
     private final JwtUtil jwtUtil;
+    private final TokenStore tokenStore;
+    private final TenantRegistry tenantRegistry;
+    private final TokenResolverChain tokenResolvers;
     private final SecurityProperties securityProperties;
+    private SecurityEventPublisher securityEventPublisher = SecurityEventPublisher.NOOP;
+    private BitSetRoleHierarchy roleHierarchy;
+    private DpopProofVerifier dpopProofVerifier;
+    private ConnectionIdentityCache connectionIdentityCache;
+    private RequestMatcher internalRequests = request -> false;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private RequestMatcher priorityRequests = request -> false;
+    private String retryAfterSeconds = "1";
+    private UserQuotaTable quotaTable;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil, SecurityProperties securityProperties) {
+        this(jwtUtil, null, securityProperties);
+    }
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenStore tokenStore, SecurityProperties securityProperties) {
+        this(jwtUtil, tokenStore, new TenantRegistry(Map.of(), securityProperties.getTenantHeader()), securityProperties);
+    }
+
+    public JwtAuthenticationFilter(
+            JwtUtil jwtUtil,
+            TokenStore tokenStore,
+            TenantRegistry tenantRegistry,
+            SecurityProperties securityProperties) {
+        this(jwtUtil, tokenStore, tenantRegistry, TokenResolverChain.from(securityProperties), securityProperties);
+    }
+
+    public JwtAuthenticationFilter(
+            JwtUtil jwtUtil,
+            TokenStore tokenStore,
+            TenantRegistry tenantRegistry,
+            TokenResolverChain tokenResolvers,
+            SecurityProperties securityProperties) {
         this.jwtUtil = jwtUtil;
+        this.tokenStore = tokenStore;
+        this.tenantRegistry = tenantRegistry;
+        this.tokenResolvers = tokenResolvers;
         this.securityProperties = securityProperties;
     }
 
+    /**
+     * Receives a {@link SecurityEventType#TOKEN_REJECTED} event for every token that fails verification.
+     */
+    public void setSecurityEventPublisher(SecurityEventPublisher securityEventPublisher) {
+        this.securityEventPublisher = securityEventPublisher;
+    }
+
+    /**
+     * Grants every role implied by the token's roles, not only the roles it carries.
+     */
+    public void setRoleHierarchy(BitSetRoleHierarchy roleHierarchy) {
+        this.roleHierarchy = roleHierarchy;
+    }
+
+    /**
+     * Verifies the {@code DPoP} proof required by sender-constrained tokens. Without
+     * a verifier such tokens are rejected.
+     */
+    public void setDpopProofVerifier(DpopProofVerifier dpopProofVerifier) {
+        this.dpopProofVerifier = dpopProofVerifier;
+    }
+
+    /**
+     * Reuses the identity verified earlier on the same connection for requests
+     * matching {@code internalRequests}, as long as the token is unchanged and unexpired.
+     */
+    public void setConnectionIdentityCache(ConnectionIdentityCache connectionIdentityCache, RequestMatcher internalRequests) {
+        this.connectionIdentityCache = connectionIdentityCache;
+        this.internalRequests = internalRequests;
+    }
+
+    /**
+     * Sheds token-authenticated requests beyond the limiter's adaptive limit with 503 and
+     * {@code Retry-After}. Requests matching {@code priorityRequests} are always admitted.
+     */
+    public void setConcurrencyLimiter(
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            RequestMatcher priorityRequests,
+            Duration retryAfter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.priorityRequests = priorityRequests;
+        this.retryAfterSeconds = Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * Refuses requests of users who have used up their quota with 429 and {@code Retry-After}.
+     */
+    public void setQuotaTable(UserQuotaTable quotaTable) {
+        this.quotaTable = quotaTable;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
+        String token = tokenResolvers.resolve(request);
+        if (token == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiter;
+        if (limiter == null || isPriority(request, token)) {
+            authenticate(token, request);
+            if (withinQuota(response)) {
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+
+        // Shed before paying for signature verification. The slot is held for the whole
+        // downstream chain on purpose: the limit bounds the requests this node works on at
+        // once, and only end-to-end latency shows when the node (not just the verifier) queues
+        long start = limiter.tryAcquire();
+        if (start < 0) {
+            shed(response);
+            return;
+        }
         try {
-            String token = extractToken(request);
-            
-            if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                authenticateUser(token, request);
+            authenticate(token, request);
+            if (withinQuota(response)) {
+                filterChain.doFilter(request, response);
             }
+        } finally {
+            limiter.release(start);
+        }
+    }
+
+    private void authenticate(String token, HttpServletRequest request) {
+        try {
+            authenticateUser(token, request);
         } catch (Exception e) {
             logger.error("JWT authentication failed: {}", e.getMessage());
+            securityEventPublisher.publish(
+                    SecurityEvent.of(SecurityEventType.TOKEN_REJECTED, request, e.getClass().getSimpleName()));
         }
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Public paths and opaque handles (a map lookup, no signature check) are never shed.
+     */
+    private boolean isPriority(HttpServletRequest request, String token) {
+        return (tokenStore != null && token.indexOf('.') < 0) || priorityRequests.matches(request);
     }
 
     /**
-     * Extracts JWT token from the Authorization header.
+     * Counts the request against the quota of the user just authenticated.
+     * Requests that did not authenticate are left to the authorization rules.
      */
-    private String extractToken(HttpServletRequest request) {
-        String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
-        
-        if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
-            return bearerToken.substring(BEARER_PREFIX.length());
+    private boolean withinQuota(HttpServletResponse response) throws IOException {
+        UserQuotaTable quota = quotaTable;
+        String userId = quota != null ? JwtPrincipal.current().map(JwtPrincipal::userId).orElse(null) : null;
+        if (userId == null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (quota.tryAcquire(userId, now)) {
+            return true;
         }
-        
-        return null;
+        Duration retryAfter = quota.retryAfter(now);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        response.setContentType("application/json");
+        response.getWriter().write(QUOTA_BODY);
+        return false;
+    }
+
+    private void shed(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", retryAfterSeconds);
+        response.setContentType("application/json");
+        response.getWriter().write(SHED_BODY);
     }
 
     /**
      * Authenticates the user based on the JWT token.
+     * The token is verified once; the resulting principal is immutable and can be
+     * handed to other threads via {@link com.assessment.security.context.SecurityContextPropagation}.
      */
     private void authenticateUser(String token, HttpServletRequest request) {
-        String username = jwtUtil.extractUsername(token);
-        
-        if (username != null && jwtUtil.validateToken(token, username)) {
-            String userId = jwtUtil.extractUserId(token);
-            List<String> roles = jwtUtil.extractRoles(token);
-            
-            // Convert role strings to Spring Security authorities
-            List<SimpleGrantedAuthority> authorities = roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .toList();
-
-            // Create authentication token
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    username,
-                    null,
-                    authorities
-            );
-            
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            
-            // Set authentication in security context
-            SecurityContextHolder.getContext().setAuthentication(authToken);
-            
-            // Log authenticated request if enabled
-            if (securityProperties.isEnableRequestLogging()) {
-                logger.info("User '{}' (ID: {}) authenticated for {} {}", 
-                        username, userId, request.getMethod(), request.getRequestURI());
+        JwtPrincipal principal = resolvePrincipal(token, request);
+
+        if (principal == null || principal.username() == null) {
+            securityEventPublisher.publish(SecurityEvent.of(SecurityEventType.TOKEN_REJECTED, request, "unknown token"));
+            return;
+        }
+        if (!tenantMatches(principal, request)) {
+            securityEventPublisher.publish(SecurityEvent.of(SecurityEventType.TOKEN_REJECTED,
+                    principal.username(), principal.userId(), principal.tenantId(), request, "tenant mismatch"));
+            return;
+        }
+        if (principal.keyThumbprint() != null && !proofMatches(principal, token, request)) {
+            securityEventPublisher.publish(SecurityEvent.of(SecurityEventType.TOKEN_REJECTED,
+                    principal.username(), principal.userId(), principal.tenantId(), request, "invalid DPoP proof"));
+            return;
+        }
+
+        BitSetRoleHierarchy hierarchy = roleHierarchy;
+        JwtAuthenticationToken authToken = hierarchy != null
+                ? new JwtAuthenticationToken(principal, hierarchy, request.getRemoteAddr())
+                : new JwtAuthenticationToken(principal, request.getRemoteAddr());
+
+        // Set authentication in security context
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        // Log authenticated request if enabled
+        if (securityProperties.isEnableRequestLogging()) {
+            logger.info("User '{}' (ID: {}) authenticated for {} {}",
+                    principal.username(), principal.userId(), request.getMethod(), request.getRequestURI());
+        }
+    }
+
+    /**
+     * Opaque handles never contain a '.', so they are told apart from JWTs
+     * without parsing and resolved with a single store lookup.
+     * JWTs on internal connections go through the per-connection cache.
+     */
+    private JwtPrincipal resolvePrincipal(String token, HttpServletRequest request) {
+        if (tokenStore != null && token.indexOf('.') < 0) {
+            return tokenStore.resolve(token);
+        }
+        ConnectionIdentityCache cache = connectionIdentityCache;
+        if (cache != null && internalRequests.matches(request)) {
+            return cache.resolve(request.getServletConnection().getConnectionId(), token, this::verify);
+        }
+        return verify(token);
+    }
+
+    private JwtPrincipal verify(String token) {
+        return JwtPrincipal.from(jwtUtil.parseClaims(token));
+    }
+
+    /**
+     * A sender-constrained token is only accepted with a proof for this request,
+     * bound to the token and signed by the key it was issued to.
+     */
+    private boolean proofMatches(JwtPrincipal principal, String token, HttpServletRequest request) {
+        DpopProofVerifier verifier = dpopProofVerifier;
+        String proof = DpopProofVerifier.proof(request);
+        if (verifier == null || proof == null) {
+            return false;
+        }
+        try {
+            DpopProofVerifier.CheckedProof checked =
+                    verifier.check(proof, request.getMethod(), request.getRequestURL().toString(), token);
+            // Only a proof from the token's own key may use up a proof id
+            if (!checked.thumbprint().equals(principal.keyThumbprint())) {
+                return false;
             }
+            verifier.markUsed(checked);
+            return true;
+        } catch (AuthenticationException e) {
+            logger.debug("DPoP proof rejected: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Tenant tokens must name a configured tenant and, when the request names
+     * a tenant, the same one.
+     */
+    private boolean tenantMatches(JwtPrincipal principal, HttpServletRequest request) {
+        if (tenantRegistry.isEmpty()) {
+            return principal.tenantId() == null;
+        }
+        String requested = tenantRegistry.resolveTenantId(request);
+        if (principal.tenantId() == null) {
+            return requested == null;
         }
+        return tenantRegistry.get(principal.tenantId()) != null
+                && (requested == null || requested.equals(principal.tenantId()));
     }
 }
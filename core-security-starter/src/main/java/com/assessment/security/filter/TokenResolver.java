@@ -0,0 +1,87 @@
+package com.assessment.security.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Enumeration;
+
+/**
+ * Extracts an access token from one transport of a request.
+ */
+public interface TokenResolver {
+
+    /**
+     * Short identifier used for hit counters, e.g. {@code bearer} or {@code cookie:access_token}.
+     */
+    String name();
+
+    /**
+     * Returns the token, or {@code null} if this transport carries none.
+     */
+    String resolve(HttpServletRequest request);
+
+    /**
+     * {@code Authorization: Bearer <token>}.
+     */
+    static TokenResolver bearer() {
+        return header("Authorization", "Bearer ");
+    }
+
+    /**
+     * {@code Authorization: DPoP <token>}, the scheme of sender-constrained tokens.
+     */
+    static TokenResolver dpop() {
+        return header("Authorization", "DPoP ");
+    }
+
+    /**
+     * A request header, optionally with a fixed prefix before the token.
+     */
+    static TokenResolver header(String headerName, String prefix) {
+        boolean authorization = "Authorization".equalsIgnoreCase(headerName);
+        String name = authorization && "Bearer ".equals(prefix) ? "bearer"
+                : authorization && "DPoP ".equals(prefix) ? "dpop"
+                : "header:" + headerName;
+        String expectedPrefix = prefix == null ? "" : prefix;
+        return new TokenResolver() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String resolve(HttpServletRequest request) {
+                String value = request.getHeader(headerName);
+                if (value == null || value.length() <= expectedPrefix.length() || !value.startsWith(expectedPrefix)) {
+                    return null;
+                }
+                return value.substring(expectedPrefix.length());
+            }
+        };
+    }
+
+    /**
+     * A cookie, read by scanning the raw {@code Cookie} header so the container
+     * does not have to parse every cookie into a {@code Cookie[]}.
+     */
+    static TokenResolver cookie(String cookieName) {
+        String name = "cookie:" + cookieName;
+        return new TokenResolver() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String resolve(HttpServletRequest request) {
+                Enumeration<String> headers = request.getHeaders("Cookie");
+                while (headers != null && headers.hasMoreElements()) {
+                    String value = CookieScanner.find(headers.nextElement(), cookieName);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+}
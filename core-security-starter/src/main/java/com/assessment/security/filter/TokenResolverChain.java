@@ -0,0 +1,112 @@
+package com.assessment.security.filter;
+
+import com.assessment.security.properties.SecurityProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tries the configured {@link TokenResolver}s in order and counts which one
+ * supplied the token. The order is fixed at construction; resolving is a plain
+ * array walk.
+ */
+public class TokenResolverChain {
+
+    /**
+     * Cookie read by a {@code cookie} resolver without an explicit name.
+     */
+    public static final String DEFAULT_COOKIE_NAME = "access_token";
+
+    private final TokenResolver[] resolvers;
+    private final LongAdder[] hits;
+    private final LongAdder misses = new LongAdder();
+
+    public TokenResolverChain(List<TokenResolver> resolvers) {
+        if (resolvers.isEmpty()) {
+            throw new IllegalArgumentException("At least one token resolver is required");
+        }
+        this.resolvers = resolvers.toArray(TokenResolver[]::new);
+        this.hits = new LongAdder[this.resolvers.length];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Builds the configured chain; with DPoP enabled the {@code DPoP} authorization
+     * scheme is tried first.
+     */
+    public static TokenResolverChain from(SecurityProperties properties) {
+        List<TokenResolver> resolvers = new ArrayList<>();
+        if (properties.getDpop().isEnabled()) {
+            resolvers.add(TokenResolver.dpop());
+        }
+        properties.getTokenResolvers().forEach(source -> resolvers.add(toResolver(source)));
+        return new TokenResolverChain(resolvers);
+    }
+
+    /**
+     * Name of the first configured cookie transport, or {@code null} if tokens never travel in a cookie.
+     */
+    public static String cookieName(SecurityProperties properties) {
+        return properties.getTokenResolvers().stream()
+                .filter(source -> source.getType() == SecurityProperties.TokenResolverType.COOKIE)
+                .map(source -> source.getName() != null ? source.getName() : DEFAULT_COOKIE_NAME)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Matches requests carrying the named token cookie.
+     */
+    public static RequestMatcher carriesCookie(String cookieName) {
+        TokenResolver cookie = TokenResolver.cookie(cookieName);
+        return request -> cookie.resolve(request) != null;
+    }
+
+    private static TokenResolver toResolver(SecurityProperties.TokenResolverSource source) {
+        return switch (source.getType()) {
+            case BEARER -> TokenResolver.bearer();
+            case COOKIE -> TokenResolver.cookie(source.getName() != null ? source.getName() : DEFAULT_COOKIE_NAME);
+            case HEADER -> {
+                if (source.getName() == null || source.getName().isBlank()) {
+                    throw new IllegalStateException("security.jwt.token-resolvers: a header resolver needs a name");
+                }
+                yield TokenResolver.header(source.getName(), source.getPrefix());
+            }
+        };
+    }
+
+    /**
+     * Returns the first token found, or {@code null} if no transport carries one.
+     */
+    public String resolve(HttpServletRequest request) {
+        for (int i = 0; i < resolvers.length; i++) {
+            String token = resolvers[i].resolve(request);
+            if (token != null) {
+                hits[i].increment();
+                return token;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Tokens supplied per resolver, in resolution order, plus {@code none} for
+     * requests without a token.
+     */
+    public Map<String, Long> getHitCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < resolvers.length; i++) {
+            counts.merge(resolvers[i].name(), hits[i].sum(), Long::sum);
+        }
+        counts.put("none", misses.sum());
+        return counts;
+    }
+}
@@ -0,0 +1,149 @@
+package com.assessment.security.internal;
+
+import com.assessment.security.context.JwtPrincipal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Remembers the last token verified on each connection of the internal listener
+ * together with its principal. A request on the same connection carrying the
+ * same, unexpired token reuses the principal instead of verifying the signature
+ * again; any other token is verified and replaces the entry. Connections cannot
+ * be observed closing, so entries are dropped after {@code idleTimeout} and the
+ * least recently used one goes when {@code maxConnections} is reached.
+ */
+public class ConnectionIdentityCache {
+
+    private final ConcurrentMap<String, Connection> connections = new ConcurrentHashMap<>();
+    private final int maxConnections;
+    private final long idleTimeoutNanos;
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+
+    public ConnectionIdentityCache(int maxConnections, Duration idleTimeout) {
+        this.maxConnections = Math.max(1, maxConnections);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Returns the principal for {@code token} on the connection, calling {@code verifier}
+     * unless the connection's last verified token is the same and has not expired.
+     * Exceptions from the verifier propagate and leave the entry unchanged.
+     */
+    public JwtPrincipal resolve(String connectionId, String token, Function<String, JwtPrincipal> verifier) {
+        long now = System.nanoTime();
+        Connection connection = connections.get(connectionId);
+        if (connection == null) {
+            connection = open(connectionId, now);
+        }
+        connection.lastUsed = now;
+
+        Identity identity = connection.identity;
+        if (identity != null && identity.token().equals(token)
+                && identity.expiresAtMillis() > System.currentTimeMillis()) {
+            connection.reuses.increment();
+            reuses.increment();
+            return identity.principal();
+        }
+
+        JwtPrincipal principal = verifier.apply(token);
+        connection.verifications.increment();
+        verifications.increment();
+        // Tokens without an expiry are never reused
+        connection.identity = principal != null && principal.expiresAt() != null
+                ? new Identity(token, principal, principal.expiresAt().toEpochMilli())
+                : null;
+        return principal;
+    }
+
+    /**
+     * Forgets every remembered identity, e.g. after a key rotation.
+     */
+    public void clear() {
+        connections.clear();
+    }
+
+    /**
+     * Connections currently remembered.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Verification and reuse counts of the connections currently remembered.
+     */
+    public List<ConnectionStats> getConnectionStats() {
+        List<ConnectionStats> stats = new ArrayList<>(connections.size());
+        connections.forEach((id, connection) -> {
+            Identity identity = connection.identity;
+            stats.add(new ConnectionStats(
+                    id,
+                    identity != null ? identity.principal().username() : null,
+                    connection.verifications.sum(),
+                    connection.reuses.sum()));
+        });
+        return stats;
+    }
+
+    /**
+     * Signature verifications performed across all connections.
+     */
+    public long getVerificationCount() {
+        return verifications.sum();
+    }
+
+    /**
+     * Requests answered from a connection's remembered identity.
+     */
+    public long getReuseCount() {
+        return reuses.sum();
+    }
+
+    /**
+     * Idle connections are swept whenever a new one appears, which is rare
+     * for the long-lived connections this cache is meant for.
+     */
+    private Connection open(String connectionId, long now) {
+        String leastRecent = null;
+        long leastRecentUse = Long.MAX_VALUE;
+        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+            long lastUsed = entry.getValue().lastUsed;
+            if (now - lastUsed > idleTimeoutNanos) {
+                connections.remove(entry.getKey(), entry.getValue());
+            } else if (lastUsed < leastRecentUse) {
+                leastRecent = entry.getKey();
+                leastRecentUse = lastUsed;
+            }
+        }
+        if (leastRecent != null && connections.size() >= maxConnections) {
+            connections.remove(leastRecent);
+        }
+        return connections.computeIfAbsent(connectionId, id -> new Connection(now));
+    }
+
+    public record ConnectionStats(String connectionId, String username, long verifications, long reuses) {
+    }
+
+    private record Identity(String token, JwtPrincipal principal, long expiresAtMillis) {
+    }
+
+    private static final class Connection {
+
+        final LongAdder verifications = new LongAdder();
+        final LongAdder reuses = new LongAdder();
+        volatile Identity identity;
+        volatile long lastUsed;
+
+        Connection(long now) {
+            this.lastUsed = now;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.assessment.security.internal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the internal listener's identity cache as {@code security.jwt.internal.*}
+ * meters. Only totals are published: connection ids would make every connection a
+ * new time series. Per-connection counts are available from
+ * {@link ConnectionIdentityCache#getConnectionStats()}.
+ */
+public class ConnectionIdentityCacheMetrics implements MeterBinder {
+
+    private final ConnectionIdentityCache cache;
+
+    public ConnectionIdentityCacheMetrics(ConnectionIdentityCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.jwt.internal.connections", cache, ConnectionIdentityCache::getConnectionCount)
+                .description("Internal listener connections with a remembered identity")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.internal.verifications", cache, ConnectionIdentityCache::getVerificationCount)
+                .description("Token signatures verified on internal listener connections")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.internal.reuses", cache, ConnectionIdentityCache::getReuseCount)
+                .description("Requests answered from a connection's remembered identity")
+                .register(registry);
+    }
+}
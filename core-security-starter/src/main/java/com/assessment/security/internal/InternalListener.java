@@ -0,0 +1,50 @@
+package com.assessment.security.internal;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/**
+ * Adds a second Tomcat connector for service-to-service traffic that speaks
+ * HTTP/1.1 and cleartext HTTP/2 (h2c, by upgrade or prior knowledge), and
+ * matches the requests that arrive on it. It binds only to {@code bindAddress},
+ * so the port is not reachable from outside unless an address is configured.
+ */
+public class InternalListener implements WebServerFactoryCustomizer<TomcatServletWebServerFactory>, RequestMatcher {
+
+    private final int port;
+    private final String bindAddress;
+    private volatile Connector connector;
+
+    public InternalListener(int port, String bindAddress) {
+        this.port = port;
+        this.bindAddress = bindAddress;
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        Connector internal = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+        internal.setPort(port);
+        internal.setProperty("address", bindAddress);
+        internal.addUpgradeProtocol(new Http2Protocol());
+        factory.addAdditionalTomcatConnectors(internal);
+        this.connector = internal;
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        int localPort = getLocalPort();
+        return localPort > 0 && request.getLocalPort() == localPort;
+    }
+
+    /**
+     * Port the listener is bound to, or -1 before the web server has started.
+     */
+    public int getLocalPort() {
+        Connector internal = connector;
+        return internal != null ? internal.getLocalPort() : -1;
+    }
+}
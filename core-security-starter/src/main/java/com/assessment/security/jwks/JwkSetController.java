@@ -0,0 +1,61 @@
+package com.assessment.security.jwks;
+
+import com.assessment.security.properties.SecurityProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes the local verification keys as a JWK Set.
+ * Supports conditional requests so polling verifiers mostly receive 304s.
+ */
+@RestController
+public class JwkSetController {
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private final JwkSetPublisher publisher;
+    private final CacheControl cacheControl;
+
+    public JwkSetController(JwkSetPublisher publisher, SecurityProperties securityProperties) {
+        this.publisher = publisher;
+        this.cacheControl = CacheControl.maxAge(securityProperties.getJwks().getMaxAge()).cachePublic();
+    }
+
+    @GetMapping("${security.jwt.jwks.path:/.well-known/jwks.json}")
+    public ResponseEntity<byte[]> jwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwkSetPublisher.Snapshot snapshot = publisher.getSnapshot();
+
+        if (matches(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .contentType(JWK_SET)
+                .body(snapshot.body());
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessment.security.jwks;
+
+import com.assessment.security.util.JwtKeyMaterial;
+import com.assessment.security.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the serialized JWK Set for the local verification keys.
+ * The body and its strong ETag are computed once per key change, so serving
+ * the endpoint is a plain byte copy. Symmetric keys are never published.
+ */
+public class JwkSetPublisher {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Snapshot snapshot;
+
+    public JwkSetPublisher(JwtUtil jwtUtil) {
+        this.snapshot = render(jwtUtil.getActiveKeys());
+        jwtUtil.addKeyChangeListener(util -> this.snapshot = render(util.getActiveKeys()));
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private Snapshot render(List<JwtKeyMaterial> keys) {
+        List<Map<String, String>> jwks = keys.stream()
+                .filter(JwtKeyMaterial::isAsymmetric)
+                .map(key -> RsaJwks.toJwk(key.getPublicKey(), key.getKeyId()))
+                .toList();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", jwks));
+            return new Snapshot(body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize JWK Set", e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Pre-serialized JWK Set body together with its strong ETag.
+     */
+    public record Snapshot(byte[] body, String etag) {
+    }
+}
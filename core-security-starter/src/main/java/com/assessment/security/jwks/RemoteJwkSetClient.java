@@ -0,0 +1,168 @@
+package com.assessment.security.jwks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verification key locator backed by a remote JWK Set.
+ * The first fetch happens on startup (retried a few times); afterwards keys are
+ * cached in an immutable snapshot and refreshed in the background, so token
+ * verification never waits on the network. An unknown {@code kid} schedules an
+ * early refresh (rate limited) and fails the current request.
+ */
+public class RemoteJwkSetClient extends LocatorAdapter<Key> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteJwkSetClient.class);
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(10);
+    private static final int INITIAL_FETCH_ATTEMPTS = 3;
+    private static final Duration INITIAL_FETCH_BACKOFF = Duration.ofSeconds(1);
+
+    private final URI uri;
+    private final Duration refreshInterval;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile String etag;
+    private volatile long lastRefreshNanos;
+
+    public RemoteJwkSetClient(URI uri, Duration refreshInterval) {
+        this.uri = uri;
+        this.refreshInterval = refreshInterval;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fetches the key set, blocking until it is loaded or the attempts are
+     * used up, and schedules periodic refreshes. Without the blocking fetch
+     * every remote-signed token would be rejected until the first refresh ran.
+     */
+    public void start() {
+        boolean loaded = refresh();
+        for (int attempt = 1; !loaded && attempt < INITIAL_FETCH_ATTEMPTS; attempt++) {
+            try {
+                Thread.sleep(INITIAL_FETCH_BACKOFF.toMillis() * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            loaded = refresh();
+        }
+        if (!loaded) {
+            logger.warn("No keys loaded from {} on startup; retrying in the background", uri);
+        }
+        long initialDelay = loaded ? refreshInterval.toMillis() : MIN_REFRESH_INTERVAL.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, initialDelay, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        Map<String, PublicKey> snapshot = keys;
+        String kid = header.getKeyId();
+
+        if (kid == null) {
+            return snapshot.size() == 1 ? snapshot.values().iterator().next() : null;
+        }
+
+        PublicKey key = snapshot.get(kid);
+        if (key == null && System.nanoTime() - lastRefreshNanos > MIN_REFRESH_INTERVAL.toNanos()) {
+            scheduler.execute(this::refresh);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the currently cached keys by {@code kid}.
+     */
+    public Map<String, PublicKey> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Fetches the key set, returning whether the cached keys are current.
+     */
+    boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(5))
+                    .GET();
+            String currentEtag = etag;
+            if (currentEtag != null) {
+                request.header("If-None-Match", currentEtag);
+            }
+
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            lastRefreshNanos = System.nanoTime();
+
+            if (response.statusCode() == 304) {
+                return true;
+            }
+            if (response.statusCode() != 200) {
+                logger.warn("JWKS refresh from {} returned HTTP {}", uri, response.statusCode());
+                return false;
+            }
+
+            this.keys = parse(response.body());
+            this.etag = response.headers().firstValue("ETag").orElse(null);
+            logger.debug("Loaded {} keys from {}", keys.size(), uri);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.warn("JWKS refresh from {} failed: {}", uri, e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Map<String, PublicKey> parse(byte[] body) throws java.io.IOException {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            String n = jwk.path("n").asText();
+            String e = jwk.path("e").asText();
+            String kid = jwk.hasNonNull("kid") ? jwk.get("kid").asText() : RsaJwks.thumbprint(n, e);
+            parsed.put(kid, RsaJwks.fromJwk(n, e));
+        }
+        return Map.copyOf(parsed);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,85 @@
+package com.assessment.security.jwks;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conversions between {@link RSAPublicKey} and its JWK representation (RFC 7517 / 7518).
+ */
+public final class RsaJwks {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private RsaJwks() {
+    }
+
+    /**
+     * Builds the public JWK members for a verification key.
+     */
+    public static Map<String, String> toJwk(RSAPublicKey key, String keyId) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        if (keyId != null) {
+            jwk.put("kid", keyId);
+        }
+        jwk.put("n", encode(key.getModulus()));
+        jwk.put("e", encode(key.getPublicExponent()));
+        return jwk;
+    }
+
+    /**
+     * Rebuilds a public key from the {@code n} and {@code e} members of a JWK.
+     */
+    public static RSAPublicKey fromJwk(String n, String e) {
+        try {
+            RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                    new BigInteger(1, DECODER.decode(n)),
+                    new BigInteger(1, DECODER.decode(e)));
+            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("Invalid RSA JWK: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * RFC 7638 SHA-256 thumbprint, base64url encoded.
+     */
+    public static String thumbprint(RSAPublicKey key) {
+        return thumbprint(encode(key.getModulus()), encode(key.getPublicExponent()));
+    }
+
+    /**
+     * RFC 7638 SHA-256 thumbprint computed from already encoded JWK members.
+     */
+    public static String thumbprint(String n, String e) {
+        String canonical = "{\"e\":\"" + e + "\",\"kty\":\"RSA\",\"n\":\"" + n + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(digest);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // BigInteger adds a leading sign byte when the high bit is set; JWK uses unsigned big-endian
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+}
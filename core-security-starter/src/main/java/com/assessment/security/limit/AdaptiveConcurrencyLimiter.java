@@ -0,0 +1,63 @@
+package com.assessment.security.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for token-authenticated requests. A request is admitted
+ * while fewer than {@link #getLimit()} are in flight; the limit adapts to
+ * observed latency through {@link VegasLimit}, so it falls when the node
+ * saturates and recovers when latency does.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final VegasLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = new VegasLimit(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Takes a slot, returning its start time for {@link #release(long)},
+     * or {@code -1} if the limit is reached and the request should be shed.
+     */
+    public long tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                shed.increment();
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        admitted.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Frees the slot taken at {@code startNanos} and feeds its latency to the limit.
+     */
+    public void release(long startNanos) {
+        int current = inFlight.getAndDecrement();
+        limit.onSample(System.nanoTime() - startNanos, current);
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+}
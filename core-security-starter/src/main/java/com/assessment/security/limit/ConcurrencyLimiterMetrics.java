@@ -0,0 +1,34 @@
+package com.assessment.security.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the limiter's state as {@code security.jwt.concurrency.*} meters.
+ */
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.jwt.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("security.jwt.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Token-authenticated requests in flight")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.concurrency.admitted", limiter, AdaptiveConcurrencyLimiter::getAdmittedCount)
+                .description("Requests admitted by the limiter")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.concurrency.shed", limiter, AdaptiveConcurrencyLimiter::getShedCount)
+                .description("Requests rejected with 503 by the limiter")
+                .register(registry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.assessment.security.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TCP Vegas-style concurrency limit. Each completed request reports its latency;
+ * the estimated queue is {@code limit * (1 - minRtt / rtt)}. A short queue grows
+ * the limit by {@code log10(limit)}, a long one shrinks it by the same step.
+ * The minimum RTT is forgotten periodically so the baseline follows changes in
+ * the workload. Samples are lock-free: the minimum RTT is a CAS minimum and the
+ * limit a CAS on its bits, so releasing threads never queue on a monitor.
+ */
+final class VegasLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicLong limitBits;
+    private final AtomicLong minRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong samplesUntilProbe;
+
+    VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        double limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(limit));
+        this.samplesUntilProbe = new AtomicLong(probeInterval(limit));
+    }
+
+    int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param rttNanos latency of the request
+     * @param inFlight requests in flight when it completed, including itself
+     */
+    void onSample(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        // Exactly one sample reaches zero and restarts the probe
+        if (samplesUntilProbe.decrementAndGet() == 0) {
+            minRtt.set(rttNanos);
+            samplesUntilProbe.set(probeInterval(Double.longBitsToDouble(limitBits.get())));
+        }
+        long baseline = minRtt.getAndAccumulate(rttNanos, Math::min);
+        if (rttNanos < baseline) {
+            return;
+        }
+
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            // Only an exercised limit says anything about capacity
+            if (inFlight * 2 < limit) {
+                return;
+            }
+            double next = next(limit, baseline, rttNanos);
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private double next(double limit, long baseline, long rttNanos) {
+        double step = Math.max(1, Math.log10(limit));
+        double queue = Math.ceil(limit * (1 - (double) baseline / rttNanos));
+        double next = limit;
+        if (queue <= 3 * step) {
+            next = limit + step;
+        } else if (queue >= 6 * step) {
+            next = limit - step;
+        }
+        return Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    private static long probeInterval(double limit) {
+        return 30L * Math.max(10, (long) limit);
+    }
+}
@@ -2,6 +2,12 @@ package com.assessment.security.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for JWT security.
  * Allows external configuration via application.yml/properties.
@@ -26,6 +32,87 @@ public class SecurityProperties {
 
     private boolean enableRequestLogging = true;
 
+    /**
+     * Access token format issued at login. Both formats are accepted by the filter
+     * while a token store is configured.
+     */
+    private TokenMode tokenMode = TokenMode.JWT;
+
+    /**
+     * Maximum number of live opaque tokens kept by the in-memory store.
+     */
+    private int opaqueMaxTokens = 100_000;
+
+    /**
+     * Fast-start mode: non-critical security beans are created lazily and a
+     * startup timeline of the slowest beans is logged once the application is ready.
+     */
+    private boolean fastStart = false;
+
+    /**
+     * Number of beans listed in the fast-start timeline.
+     */
+    private int fastStartReportSize = 15;
+
+    /**
+     * Asymmetric (RS256) signing. When enabled the secret is ignored.
+     */
+    private final Rsa rsa = new Rsa();
+
+    /**
+     * JWK Set publishing and remote key retrieval.
+     */
+    private final Jwks jwks = new Jwks();
+
+    /**
+     * Adaptive load shedding for token-authenticated requests.
+     */
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    /**
+     * Security audit event bus and its binary log.
+     */
+    private final Audit audit = new Audit();
+
+    /**
+     * Sender-constrained (DPoP) access tokens.
+     */
+    private final Dpop dpop = new Dpop();
+
+    /**
+     * Extra plain-text HTTP/2 (h2c) listener for trusted service-to-service callers.
+     */
+    private final InternalListener internalListener = new InternalListener();
+
+    /**
+     * Per-user request quotas for token-authenticated requests.
+     */
+    private final Quota quota = new Quota();
+
+    /**
+     * Per-tenant signing keys, expiry and public paths, keyed by tenant id.
+     * Tokens issued for a tenant carry a {@code tid} header and claim.
+     */
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    /**
+     * Request header naming the tenant for login and public-path matching.
+     */
+    private String tenantHeader = "X-Tenant-ID";
+
+    /**
+     * Roles each role implies, e.g. {@code ADMIN: [USER]}. Tokens carry only the
+     * base role; authorities are expanded to the transitive closure on every request.
+     * The {@code ROLE_} prefix is optional.
+     */
+    private Map<String, List<String>> roleHierarchy = new LinkedHashMap<>();
+
+    /**
+     * Where the filter looks for the access token, tried in order.
+     * Defaults to the {@code Authorization: Bearer} header only.
+     */
+    private List<TokenResolverSource> tokenResolvers = new ArrayList<>(List.of(new TokenResolverSource()));
+
     public String getSecret() {
         return secret;
     }
@@ -49,4 +136,677 @@ public class SecurityProperties {
     public void setEnableRequestLogging(boolean enableRequestLogging) {
         this.enableRequestLogging = enableRequestLogging;
     }
+
+    public TokenMode getTokenMode() {
+        return tokenMode;
+    }
+
+    public void setTokenMode(TokenMode tokenMode) {
+        this.tokenMode = tokenMode;
+    }
+
+    public int getOpaqueMaxTokens() {
+        return opaqueMaxTokens;
+    }
+
+    public void setOpaqueMaxTokens(int opaqueMaxTokens) {
+        this.opaqueMaxTokens = opaqueMaxTokens;
+    }
+
+    public boolean isFastStart() {
+        return fastStart;
+    }
+
+    public void setFastStart(boolean fastStart) {
+        this.fastStart = fastStart;
+    }
+
+    public int getFastStartReportSize() {
+        return fastStartReportSize;
+    }
+
+    public void setFastStartReportSize(int fastStartReportSize) {
+        this.fastStartReportSize = fastStartReportSize;
+    }
+
+    public Rsa getRsa() {
+        return rsa;
+    }
+
+    public Jwks getJwks() {
+        return jwks;
+    }
+
+    public enum TokenMode {
+        /**
+         * Self-contained signed JWTs.
+         */
+        JWT,
+        /**
+         * Short random handles resolved through a {@code TokenStore}.
+         */
+        OPAQUE
+    }
+
+    public Map<String, Tenant> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Tenant> tenants) {
+        this.tenants = tenants;
+    }
+
+    public String getTenantHeader() {
+        return tenantHeader;
+    }
+
+    public void setTenantHeader(String tenantHeader) {
+        this.tenantHeader = tenantHeader;
+    }
+
+    public Map<String, List<String>> getRoleHierarchy() {
+        return roleHierarchy;
+    }
+
+    public void setRoleHierarchy(Map<String, List<String>> roleHierarchy) {
+        this.roleHierarchy = roleHierarchy;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public Dpop getDpop() {
+        return dpop;
+    }
+
+    public InternalListener getInternalListener() {
+        return internalListener;
+    }
+
+    public Quota getQuota() {
+        return quota;
+    }
+
+    public List<TokenResolverSource> getTokenResolvers() {
+        return tokenResolvers;
+    }
+
+    public void setTokenResolvers(List<TokenResolverSource> tokenResolvers) {
+        this.tokenResolvers = tokenResolvers;
+    }
+
+    public enum TokenResolverType {
+        /**
+         * {@code Authorization: Bearer <token>}.
+         */
+        BEARER,
+        /**
+         * A cookie, {@code access_token} unless named.
+         */
+        COOKIE,
+        /**
+         * A named request header with an optional prefix.
+         */
+        HEADER
+    }
+
+    public static class TokenResolverSource {
+
+        private TokenResolverType type = TokenResolverType.BEARER;
+
+        /**
+         * Cookie or header name.
+         */
+        private String name;
+
+        /**
+         * Text preceding the token in a header value, e.g. {@code "Token "}.
+         */
+        private String prefix;
+
+        public TokenResolverType getType() {
+            return type;
+        }
+
+        public void setType(TokenResolverType type) {
+            this.type = type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public void setPrefix(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    public static class ConcurrencyLimit {
+
+        /**
+         * Shed token-authenticated requests with 503 once the adaptive limit is reached.
+         */
+        private boolean enabled = false;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 500;
+
+        /**
+         * Value of the {@code Retry-After} header on shed requests.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class Quota {
+
+        /**
+         * Refuse a user's requests with 429 once they exceed {@code limit} within {@code window}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Requests each user may make per sliding window.
+         */
+        private int limit = 1000;
+
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * Users tracked at once; requests of users beyond this are admitted uncounted.
+         */
+        private int maxUsers = 1_000_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public void setLimit(int limit) {
+            this.limit = limit;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxUsers() {
+            return maxUsers;
+        }
+
+        public void setMaxUsers(int maxUsers) {
+            this.maxUsers = maxUsers;
+        }
+    }
+
+    public static class InternalListener {
+
+        /**
+         * Open the listener. Tokens verified on it are remembered per connection,
+         * so only trusted networks should reach this port.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Port of the listener; 0 picks a free port.
+         */
+        private int port = 8070;
+
+        /**
+         * Address the listener binds to. Loopback by default; set an internal
+         * interface address (or {@code 0.0.0.0}) to accept other hosts.
+         */
+        private String bindAddress = "127.0.0.1";
+
+        /**
+         * Connections whose verified identity is remembered; the least recently
+         * used is forgotten beyond this.
+         */
+        private int maxConnections = 1024;
+
+        /**
+         * Remembered identities unused for this long are dropped.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getBindAddress() {
+            return bindAddress;
+        }
+
+        public void setBindAddress(String bindAddress) {
+            this.bindAddress = bindAddress;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+    }
+
+    public static class Dpop {
+
+        /**
+         * Bind tokens to the key of a {@code DPoP} proof sent at login and require
+         * a fresh proof with every request that uses such a token.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long after its {@code iat} a proof is accepted.
+         */
+        private Duration proofMaxAge = Duration.ofSeconds(60);
+
+        /**
+         * Tolerated clock difference between client and server.
+         */
+        private Duration clockSkew = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of proof ids remembered for replay detection. Proofs
+         * arriving while the cache is full are rejected.
+         */
+        private int replayCacheSize = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getProofMaxAge() {
+            return proofMaxAge;
+        }
+
+        public void setProofMaxAge(Duration proofMaxAge) {
+            this.proofMaxAge = proofMaxAge;
+        }
+
+        public Duration getClockSkew() {
+            return clockSkew;
+        }
+
+        public void setClockSkew(Duration clockSkew) {
+            this.clockSkew = clockSkew;
+        }
+
+        public int getReplayCacheSize() {
+            return replayCacheSize;
+        }
+
+        public void setReplayCacheSize(int replayCacheSize) {
+            this.replayCacheSize = replayCacheSize;
+        }
+    }
+
+    public static class Audit {
+
+        /**
+         * Publish login, token and access-failure events. When disabled publishing is a no-op.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Events that may wait for the background writer.
+         */
+        private int capacity = 8192;
+
+        /**
+         * What happens when the queue is full.
+         */
+        private Backpressure backpressure = Backpressure.DROP_NEWEST;
+
+        /**
+         * Longest a publisher waits for queue space under {@link Backpressure#BLOCK}.
+         */
+        private Duration blockTimeout = Duration.ofMillis(10);
+
+        /**
+         * Directory of the memory-mapped audit log; blank disables the file sink.
+         */
+        private String directory = "audit";
+
+        /**
+         * Size of each log segment in bytes.
+         */
+        private int segmentSize = 16 * 1024 * 1024;
+
+        /**
+         * Upper bound on how long written events stay only in the page cache.
+         */
+        private Duration forceInterval = Duration.ofSeconds(1);
+
+        public enum Backpressure {
+            /**
+             * Discard the event being published.
+             */
+            DROP_NEWEST,
+            /**
+             * Evict the oldest queued event to make room.
+             */
+            DROP_OLDEST,
+            /**
+             * Wait up to {@code block-timeout} for space, then discard.
+             */
+            BLOCK
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Backpressure getBackpressure() {
+            return backpressure;
+        }
+
+        public void setBackpressure(Backpressure backpressure) {
+            this.backpressure = backpressure;
+        }
+
+        public Duration getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Duration blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(int segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public Duration getForceInterval() {
+            return forceInterval;
+        }
+
+        public void setForceInterval(Duration forceInterval) {
+            this.forceInterval = forceInterval;
+        }
+    }
+
+    public static class Tenant {
+
+        /**
+         * HMAC secret of the tenant. Ignored when {@code rsa.enabled} is set.
+         */
+        private String secret;
+
+        /**
+         * Tenant key pair for RS256 signing.
+         */
+        private final Rsa rsa = new Rsa();
+
+        /**
+         * Token expiration in milliseconds. Defaults to {@code security.jwt.expiration}.
+         */
+        private Long expiration;
+
+        /**
+         * Additional unauthenticated path patterns for requests naming this tenant.
+         */
+        private List<String> publicPaths = new ArrayList<>();
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public Rsa getRsa() {
+            return rsa;
+        }
+
+        public Long getExpiration() {
+            return expiration;
+        }
+
+        public void setExpiration(Long expiration) {
+            this.expiration = expiration;
+        }
+
+        public List<String> getPublicPaths() {
+            return publicPaths;
+        }
+
+        public void setPublicPaths(List<String> publicPaths) {
+            this.publicPaths = publicPaths;
+        }
+    }
+
+    public static class Rsa {
+
+        private boolean enabled = false;
+
+        /**
+         * Base64 or PEM encoded PKCS#8 private key. A key pair is generated on startup when empty.
+         */
+        private String privateKey;
+
+        /**
+         * Base64 or PEM encoded X.509 public key. Derived from the private key when empty.
+         */
+        private String publicKey;
+
+        /**
+         * Key id placed in the token header. Defaults to the RFC 7638 thumbprint.
+         */
+        private String keyId;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+    }
+
+    public static class Jwks {
+
+        /**
+         * Publishes the verification keys at {@link #path}.
+         */
+        private boolean enabled = true;
+
+        private String path = "/.well-known/jwks.json";
+
+        /**
+         * Cache-Control max-age of the published key set.
+         */
+        private Duration maxAge = Duration.ofMinutes(5);
+
+        /**
+         * Remote JWK Set used to verify tokens instead of the local keys.
+         */
+        private String remoteUri;
+
+        /**
+         * Background refresh interval of the remote key set.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public String getRemoteUri() {
+            return remoteUri;
+        }
+
+        public void setRemoteUri(String remoteUri) {
+            this.remoteUri = remoteUri;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
 }
@@ -0,0 +1,275 @@
+package com.assessment.security.quota;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user request quota over a sliding window, approximated from the counts of
+ * the current and previous fixed windows. Counters live in parallel primitive
+ * arrays forming open-addressing (linear probing) tables, spread over lock
+ * stripes by hash, so a tracked user costs one slot and no objects beyond its id.
+ * Users idle for a whole window are dropped when a stripe is compacted: on its
+ * first use in each window, and whenever it fills up. A user arriving at a stripe
+ * that is still full after compaction is admitted untracked rather than letting
+ * memory grow.
+ */
+public class UserQuotaTable {
+
+    private static final int INITIAL_SLOTS = 16;
+
+    private final int limit;
+    private final long windowMillis;
+    private final int maxSlots;
+    private final Stripe[] stripes;
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    public UserQuotaTable(int limit, Duration window, int maxUsers) {
+        this(limit, window, maxUsers, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param stripes lock stripes; rounded up to a power of two
+     */
+    public UserQuotaTable(int limit, Duration window, int maxUsers, int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.limit = Math.max(1, limit);
+        this.windowMillis = Math.max(1, window.toMillis());
+        // Tables are kept at most three quarters full
+        this.maxSlots = powerOfTwoAtLeast(Math.max(INITIAL_SLOTS, (Math.max(1, maxUsers / count) * 4 + 2) / 3));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Counts a request by {@code userId} at {@code nowMillis} unless it would
+     * exceed the quota.
+     *
+     * @return {@code false} if the user has used up the quota for the sliding window
+     */
+    public boolean tryAcquire(String userId, long nowMillis) {
+        long window = nowMillis / windowMillis;
+        long elapsed = nowMillis - window * windowMillis;
+        int hash = spread(userId.hashCode());
+        Stripe stripe = stripes[(hash >>> 16) & (stripes.length - 1)];
+        synchronized (stripe) {
+            if (stripe.compactedWindow != window) {
+                stripe.compactedWindow = window;
+                int live = stripe.live(window);
+                if (live < stripe.size) {
+                    // Shrinks the table again once the users that grew it have gone idle
+                    stripe.compact(window, Math.max(INITIAL_SLOTS,
+                            Math.min(stripe.ids.length, powerOfTwoAtLeast(live * 2))));
+                }
+            }
+            int slot = stripe.find(userId, hash);
+            if (slot < 0) {
+                slot = insert(stripe, userId, hash, window);
+                if (slot < 0) {
+                    overflows.increment();
+                    return true;
+                }
+            }
+            stripe.roll(slot, window);
+            if (estimate(stripe.current[slot], stripe.previous[slot], elapsed) >= limit) {
+                rejections.increment();
+                return false;
+            }
+            stripe.current[slot]++;
+            return true;
+        }
+    }
+
+    /**
+     * Time until the current window ends, when a rejected user's estimate next drops.
+     */
+    public Duration retryAfter(long nowMillis) {
+        return Duration.ofMillis(windowMillis - nowMillis % windowMillis);
+    }
+
+    /**
+     * The {@code n} users with the most requests in the sliding window ending at
+     * {@code nowMillis}, most first.
+     */
+    public List<Consumer> topConsumers(int n, long nowMillis) {
+        if (n <= 0) {
+            return List.of();
+        }
+        long window = nowMillis / windowMillis;
+        long elapsed = nowMillis - window * windowMillis;
+        PriorityQueue<Consumer> top = new PriorityQueue<>(n + 1, Comparator.comparingLong(Consumer::requests));
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (int i = 0; i < stripe.ids.length; i++) {
+                    if (stripe.ids[i] == null || stripe.windows[i] < window - 1) {
+                        continue;
+                    }
+                    int current = stripe.windows[i] == window ? stripe.current[i] : 0;
+                    int previous = stripe.windows[i] == window ? stripe.previous[i] : stripe.current[i];
+                    long requests = (long) Math.ceil(estimate(current, previous, elapsed));
+                    if (requests == 0) {
+                        continue;
+                    }
+                    top.add(new Consumer(stripe.ids[i], requests));
+                    if (top.size() > n) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+        List<Consumer> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingLong(Consumer::requests).reversed());
+        return result;
+    }
+
+    /**
+     * Users currently tracked, including idle ones not yet compacted away.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Requests refused because the user's quota was used up.
+     */
+    public long getRejectedCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * Requests admitted untracked because their stripe was full.
+     */
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    /**
+     * Compacts the stripe when it is three quarters full, doubling its table
+     * if that frees less than half of it.
+     */
+    private int insert(Stripe stripe, String userId, int hash, long window) {
+        int slots = stripe.hashes.length;
+        if ((stripe.size + 1) * 4 > slots * 3) {
+            stripe.compact(window, slots);
+            if (stripe.size * 2 > slots && slots < maxSlots) {
+                stripe.compact(window, slots * 2);
+            } else if ((stripe.size + 1) * 4 > slots * 3) {
+                return -1;
+            }
+        }
+        return stripe.put(userId, hash, window);
+    }
+
+    private double estimate(int current, int previous, long elapsedMillis) {
+        return current + previous * (double) (windowMillis - elapsedMillis) / windowMillis;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    public record Consumer(String userId, long requests) {
+    }
+
+    private static final class Stripe {
+
+        int[] hashes = new int[INITIAL_SLOTS];
+        String[] ids = new String[INITIAL_SLOTS];
+        long[] windows = new long[INITIAL_SLOTS];
+        int[] current = new int[INITIAL_SLOTS];
+        int[] previous = new int[INITIAL_SLOTS];
+        int size;
+        long compactedWindow = Long.MIN_VALUE;
+
+        int find(String userId, int hash) {
+            int mask = ids.length - 1;
+            for (int i = hash & mask; ids[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && ids[i].equals(userId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int put(String userId, int hash, long window) {
+            int mask = ids.length - 1;
+            int i = hash & mask;
+            while (ids[i] != null) {
+                i = (i + 1) & mask;
+            }
+            hashes[i] = hash;
+            ids[i] = userId;
+            windows[i] = window;
+            size++;
+            return i;
+        }
+
+        /**
+         * Moves the slot's counts forward to {@code window}.
+         */
+        void roll(int slot, long window) {
+            if (windows[slot] == window) {
+                return;
+            }
+            previous[slot] = windows[slot] == window - 1 ? current[slot] : 0;
+            current[slot] = 0;
+            windows[slot] = window;
+        }
+
+        int live(long window) {
+            int live = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != null && windows[i] >= window - 1) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        /**
+         * Rehashes the users seen in this or the previous window into a table of
+         * {@code slots}; anyone older no longer counts towards the sliding window.
+         */
+        void compact(long window, int slots) {
+            int[] oldHashes = hashes;
+            String[] oldIds = ids;
+            long[] oldWindows = windows;
+            int[] oldCurrent = current;
+            int[] oldPrevious = previous;
+
+            hashes = new int[slots];
+            ids = new String[slots];
+            windows = new long[slots];
+            current = new int[slots];
+            previous = new int[slots];
+            size = 0;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] != null && oldWindows[i] >= window - 1) {
+                    int slot = put(oldIds[i], oldHashes[i], oldWindows[i]);
+                    current[slot] = oldCurrent[i];
+                    previous[slot] = oldPrevious[i];
+                }
+            }
+        }
+    }
+}
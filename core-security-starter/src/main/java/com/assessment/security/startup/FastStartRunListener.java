@@ -0,0 +1,33 @@
+package com.assessment.security.startup;
+
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * Switches the application to a buffering {@code ApplicationStartup} when
+ * {@code security.jwt.fast-start} is enabled, so {@link StartupTimelineReporter}
+ * can report per-bean instantiation times. Runs before the context is created.
+ */
+public class FastStartRunListener implements SpringApplicationRunListener {
+
+    private static final String FAST_START_PROPERTY = "security.jwt.fast-start";
+    private static final int STEP_CAPACITY = 10_000;
+
+    private final SpringApplication application;
+
+    public FastStartRunListener(SpringApplication application, String[] args) {
+        this.application = application;
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableBootstrapContext bootstrapContext, ConfigurableEnvironment environment) {
+        if (environment.getProperty(FAST_START_PROPERTY, Boolean.class, false)
+                && application.getApplicationStartup() == ApplicationStartup.DEFAULT) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STEP_CAPACITY));
+        }
+    }
+}
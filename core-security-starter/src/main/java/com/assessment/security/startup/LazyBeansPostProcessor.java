@@ -0,0 +1,30 @@
+package com.assessment.security.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.Set;
+
+/**
+ * Marks the given bean definitions lazy so they are created on first use
+ * rather than during context refresh. Unknown names are ignored.
+ */
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor {
+
+    private final Set<String> beanNames;
+
+    public LazyBeansPostProcessor(Set<String> beanNames) {
+        this.beanNames = beanNames;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanNames) {
+            if (beanFactory.containsBeanDefinition(beanName)) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.assessment.security.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Logs the slowest bean instantiations once the application is ready.
+ * Durations are inclusive: a bean's time contains the creation of the
+ * dependencies it pulled in.
+ */
+public class StartupTimelineReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReporter.class);
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    private final int reportSize;
+    private volatile List<BeanTiming> slowestBeans = List.of();
+
+    public StartupTimelineReporter(int reportSize) {
+        this.reportSize = reportSize;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            logger.debug("Startup timeline unavailable: application startup is not buffering");
+            return;
+        }
+
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        this.slowestBeans = timeline.getEvents().stream()
+                .filter(e -> BEAN_INSTANTIATE_STEP.equals(e.getStartupStep().getName()))
+                .map(e -> new BeanTiming(beanName(e.getStartupStep()), e.getDuration()))
+                .sorted(Comparator.comparing(BeanTiming::duration).reversed())
+                .limit(reportSize)
+                .toList();
+
+        StringBuilder report = new StringBuilder();
+        report.append("Startup timeline (ready in ").append(event.getTimeTaken().toMillis()).append(" ms), slowest beans:");
+        for (BeanTiming timing : slowestBeans) {
+            report.append(System.lineSeparator())
+                    .append(String.format("  %6d ms  %s", timing.duration().toMillis(), timing.beanName()));
+        }
+        logger.info(report.toString());
+    }
+
+    /**
+     * Slowest beans from the last report, longest first.
+     */
+    public List<BeanTiming> getSlowestBeans() {
+        return slowestBeans;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "<unknown>";
+    }
+
+    public record BeanTiming(String beanName, Duration duration) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.assessment.security.tenant;
+
+import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.util.JwtKeyMaterial;
+import com.assessment.security.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable tenant lookup built once from {@code security.jwt.tenants.*}.
+ * Every per-request operation is a single map probe; keys, expiry and
+ * compiled public-path patterns are prepared at startup.
+ */
+public class TenantRegistry {
+
+    private final Map<String, TenantContext> tenants;
+    private final String tenantHeader;
+
+    public TenantRegistry(Map<String, TenantContext> tenants, String tenantHeader) {
+        this.tenants = Map.copyOf(tenants);
+        this.tenantHeader = tenantHeader;
+    }
+
+    public static TenantRegistry from(SecurityProperties properties) {
+        PathPatternParser parser = new PathPatternParser();
+        Map<String, TenantContext> contexts = new HashMap<>();
+
+        properties.getTenants().forEach((id, tenant) -> {
+            JwtKeyMaterial keys;
+            if (tenant.getRsa().isEnabled()) {
+                keys = JwtKeyMaterial.rsa(tenant.getRsa().getPrivateKey(), tenant.getRsa().getPublicKey(), tenant.getRsa().getKeyId());
+            } else if (tenant.getSecret() != null && !tenant.getSecret().isBlank()) {
+                keys = JwtKeyMaterial.hmac(tenant.getSecret());
+            } else {
+                throw new IllegalStateException("security.jwt.tenants." + id + " needs a secret or rsa.enabled=true");
+            }
+
+            long expiration = tenant.getExpiration() != null ? tenant.getExpiration() : properties.getExpiration();
+            List<PathPattern> publicPaths = tenant.getPublicPaths().stream()
+                    .map(parser::parse)
+                    .toList();
+            contexts.put(id, new TenantContext(id, new JwtUtil(keys, expiration, id), expiration, publicPaths));
+        });
+
+        return new TenantRegistry(contexts, properties.getTenantHeader());
+    }
+
+    public boolean isEmpty() {
+        return tenants.isEmpty();
+    }
+
+    /**
+     * Returns the tenant, or {@code null} if it is not configured.
+     */
+    public TenantContext get(String tenantId) {
+        return tenantId == null ? null : tenants.get(tenantId);
+    }
+
+    /**
+     * Tenant named by the request header, or {@code null}.
+     */
+    public String resolveTenantId(HttpServletRequest request) {
+        return request.getHeader(tenantHeader);
+    }
+
+    /**
+     * Verification key for a tenant token; used as {@link JwtUtil#setTenantKeyResolver}.
+     */
+    public Key verificationKey(String tenantId, String keyId) {
+        TenantContext tenant = tenants.get(tenantId);
+        return tenant == null ? null : tenant.jwtUtil().locateKey(keyId);
+    }
+
+    /**
+     * Whether the request path is public for the tenant named in the request header.
+     */
+    public boolean isPublicPath(HttpServletRequest request) {
+        TenantContext tenant = get(resolveTenantId(request));
+        if (tenant == null || tenant.publicPaths().isEmpty()) {
+            return false;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (PathPattern pattern : tenant.publicPaths()) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prepared configuration of one tenant.
+     */
+    public record TenantContext(String id, JwtUtil jwtUtil, long expiration, List<PathPattern> publicPaths) {
+    }
+}
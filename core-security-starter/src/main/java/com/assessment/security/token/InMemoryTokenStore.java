@@ -0,0 +1,91 @@
+package com.assessment.security.token;
+
+import com.assessment.security.context.JwtPrincipal;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Bounded in-memory {@link TokenStore}.
+ * Lookups are a single hash probe; a skip list ordered by expiry lets every
+ * write evict expired handles from the head, and when the store is full the
+ * handle closest to expiry is dropped first. Writes are serialized so
+ * the capacity check, eviction and insert keep the store within {@code maxTokens};
+ * lookups never lock.
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+    private final Map<String, JwtPrincipal> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Expiry> expiryIndex = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(Expiry::epochMillis).thenComparing(Expiry::handle));
+    private final int maxTokens;
+    private final Clock clock;
+
+    public InMemoryTokenStore(int maxTokens) {
+        this(maxTokens, Clock.systemUTC());
+    }
+
+    public InMemoryTokenStore(int maxTokens, Clock clock) {
+        this.maxTokens = maxTokens;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void store(String handle, JwtPrincipal principal) {
+        long now = clock.millis();
+        evictExpired(now);
+        while (tokens.size() >= maxTokens) {
+            Expiry soonest = expiryIndex.pollFirst();
+            if (soonest == null) {
+                break;
+            }
+            tokens.remove(soonest.handle());
+        }
+
+        tokens.put(handle, principal);
+        expiryIndex.add(new Expiry(principal.expiresAt().toEpochMilli(), handle));
+    }
+
+    @Override
+    public JwtPrincipal resolve(String handle) {
+        JwtPrincipal principal = tokens.get(handle);
+        if (principal == null) {
+            return null;
+        }
+        if (principal.expiresAt().toEpochMilli() <= clock.millis()) {
+            revoke(handle);
+            return null;
+        }
+        return principal;
+    }
+
+    @Override
+    public void revoke(String handle) {
+        JwtPrincipal removed = tokens.remove(handle);
+        if (removed != null) {
+            expiryIndex.remove(new Expiry(removed.expiresAt().toEpochMilli(), handle));
+        }
+    }
+
+    @Override
+    public int size() {
+        return tokens.size();
+    }
+
+    private void evictExpired(long now) {
+        for (Expiry expiry : expiryIndex) {
+            if (expiry.epochMillis() > now) {
+                return;
+            }
+            if (expiryIndex.remove(expiry)) {
+                tokens.remove(expiry.handle());
+            }
+        }
+    }
+
+    private record Expiry(long epochMillis, String handle) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.assessment.security.token;
+
+/**
+ * A freshly issued access token and its expiry (epoch milliseconds).
+ */
+public record IssuedToken(String token, long expiresAt) {
+}
@@ -0,0 +1,119 @@
+package com.assessment.security.token;
+
+import com.assessment.security.audit.SecurityEvent;
+import com.assessment.security.audit.SecurityEventPublisher;
+import com.assessment.security.audit.SecurityEventType;
+import com.assessment.security.context.JwtPrincipal;
+import com.assessment.security.exception.AuthenticationException;
+import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.tenant.TenantRegistry;
+import com.assessment.security.util.JwtUtil;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issues access tokens in the configured {@link SecurityProperties.TokenMode}:
+ * signed JWTs, or short random handles backed by a {@link TokenStore}.
+ */
+public class TokenIssuer {
+
+    private static final int HANDLE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtUtil jwtUtil;
+    private final TokenStore tokenStore;
+    private final TenantRegistry tenantRegistry;
+    private final SecurityProperties securityProperties;
+    private final SecureRandom random = new SecureRandom();
+    private SecurityEventPublisher securityEventPublisher = SecurityEventPublisher.NOOP;
+
+    public TokenIssuer(JwtUtil jwtUtil, TokenStore tokenStore, SecurityProperties securityProperties) {
+        this(jwtUtil, tokenStore, new TenantRegistry(Map.of(), securityProperties.getTenantHeader()), securityProperties);
+    }
+
+    public TokenIssuer(
+            JwtUtil jwtUtil,
+            TokenStore tokenStore,
+            TenantRegistry tenantRegistry,
+            SecurityProperties securityProperties) {
+        this.jwtUtil = jwtUtil;
+        this.tokenStore = tokenStore;
+        this.tenantRegistry = tenantRegistry;
+        this.securityProperties = securityProperties;
+    }
+
+    /**
+     * Receives a {@link SecurityEventType#TOKEN_ISSUED} event per issued token.
+     */
+    public void setSecurityEventPublisher(SecurityEventPublisher securityEventPublisher) {
+        this.securityEventPublisher = securityEventPublisher;
+    }
+
+    public IssuedToken issue(UserDetails userDetails, String userId) {
+        return issue(userDetails, userId, null);
+    }
+
+    /**
+     * Issues a token scoped to the tenant, or a global token when {@code tenantId} is {@code null}.
+     *
+     * @throws AuthenticationException if the tenant is not configured
+     */
+    public IssuedToken issue(UserDetails userDetails, String userId, String tenantId) {
+        return issue(userDetails, userId, tenantId, null);
+    }
+
+    /**
+     * Issues a token that is only accepted together with a DPoP proof signed by the
+     * key with the given thumbprint, or a bearer token when {@code keyThumbprint} is {@code null}.
+     *
+     * @throws AuthenticationException if the tenant is not configured
+     */
+    public IssuedToken issue(UserDetails userDetails, String userId, String tenantId, String keyThumbprint) {
+        JwtUtil issuer = jwtUtil;
+        if (tenantId != null) {
+            TenantRegistry.TenantContext tenant = tenantRegistry.get(tenantId);
+            if (tenant == null) {
+                throw new AuthenticationException("Unknown tenant");
+            }
+            issuer = tenant.jwtUtil();
+        }
+
+        SecurityProperties.TokenMode mode = securityProperties.getTokenMode();
+        IssuedToken token = mode == SecurityProperties.TokenMode.OPAQUE
+                ? issueOpaque(userDetails, userId, issuer.getExpiration(), tenantId, keyThumbprint)
+                : issuer.issueToken(userDetails, userId, keyThumbprint);
+        securityEventPublisher.publish(SecurityEvent.of(
+                SecurityEventType.TOKEN_ISSUED, userDetails.getUsername(), userId, tenantId, null, mode.name()));
+        return token;
+    }
+
+    private IssuedToken issueOpaque(
+            UserDetails userDetails, String userId, long expiration, String tenantId, String keyThumbprint) {
+        if (tokenStore == null) {
+            throw new IllegalStateException("Opaque token mode requires a TokenStore bean");
+        }
+
+        // Same second granularity as the JWT exp claim
+        long expiresAt = (System.currentTimeMillis() + expiration) / 1000 * 1000;
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        String handle = newHandle();
+        tokenStore.store(handle, new JwtPrincipal(
+                userId, userDetails.getUsername(), roles, Instant.ofEpochMilli(expiresAt), tenantId, keyThumbprint));
+        return new IssuedToken(handle, expiresAt);
+    }
+
+    private String newHandle() {
+        byte[] bytes = new byte[HANDLE_BYTES];
+        random.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+}
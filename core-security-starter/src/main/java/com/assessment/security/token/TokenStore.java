@@ -0,0 +1,30 @@
+package com.assessment.security.token;
+
+import com.assessment.security.context.JwtPrincipal;
+
+/**
+ * Maps opaque token handles to the identity they were issued for.
+ * Implementations must make {@link #resolve} O(1) and never return expired entries.
+ */
+public interface TokenStore {
+
+    /**
+     * Stores the principal under the handle until {@link JwtPrincipal#expiresAt()}.
+     */
+    void store(String handle, JwtPrincipal principal);
+
+    /**
+     * Returns the principal for the handle, or {@code null} if unknown or expired.
+     */
+    JwtPrincipal resolve(String handle);
+
+    /**
+     * Removes the handle so it can no longer be used.
+     */
+    void revoke(String handle);
+
+    /**
+     * Number of live entries (may include expired entries not yet evicted).
+     */
+    int size();
+}
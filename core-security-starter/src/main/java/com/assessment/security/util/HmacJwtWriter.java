@@ -0,0 +1,313 @@
+package com.assessment.security.util;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Allocation-light HS256/384/512 token writer used by {@link JwtUtil} for HMAC keys.
+ * The header segment is encoded once per key; claims are written as JSON straight
+ * into a per-thread byte buffer, base64url-encoded into a second buffer and signed
+ * with a per-thread {@link Mac}. The only per-token allocation is the result string.
+ * Output is a standard compact JWS that jjwt (or any JOSE library) verifies.
+ */
+final class HmacJwtWriter {
+
+    private static final byte[] BASE64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] USER_ID = ascii("{\"userId\":");
+    private static final byte[] USERNAME = ascii(",\"username\":");
+    private static final byte[] ROLES = ascii(",\"roles\":[");
+    private static final byte[] TENANT = ascii("],\"" + JwtUtil.TENANT_CLAIM + "\":");
+    private static final byte[] ROLES_END = ascii("]");
+    private static final byte[] CONFIRMATION = ascii(",\"" + JwtUtil.CONFIRMATION_CLAIM + "\":{\"jkt\":");
+    private static final byte[] SUBJECT = ascii(",\"sub\":");
+    private static final byte[] ISSUED_AT = ascii(",\"iat\":");
+    private static final byte[] EXPIRATION = ascii(",\"exp\":");
+    private static final byte[] NULL = ascii("null");
+
+    private final SecretKey key;
+    private final String algorithm;
+    private final byte[] headerSegment;
+    private final byte[] tenantClaim;
+    private final ThreadLocal<Buffers> buffers;
+
+    private HmacJwtWriter(SecretKey key, String jwsAlgorithm, String keyId, String tenantId) {
+        this.key = key;
+        this.algorithm = key.getAlgorithm();
+
+        StringBuilder header = new StringBuilder("{\"alg\":\"").append(jwsAlgorithm).append('"');
+        if (keyId != null) {
+            header.append(",\"kid\":");
+            appendJsonString(header, keyId);
+        }
+        if (tenantId != null) {
+            header.append(",\"").append(JwtUtil.TENANT_CLAIM).append("\":");
+            appendJsonString(header, tenantId);
+        }
+        header.append('}');
+        String encoded = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(header.toString().getBytes(StandardCharsets.UTF_8)) + ".";
+        this.headerSegment = ascii(encoded);
+        this.tenantClaim = tenantId == null ? null : jsonString(tenantId);
+
+        // Fail fast on an unusable key instead of on the first login
+        newMac();
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(newMac()));
+    }
+
+    /**
+     * Returns a writer for the key, or {@code null} if it is not an HMAC-SHA2 key
+     * (those tokens are issued through jjwt).
+     */
+    static HmacJwtWriter forKey(JwtKeyMaterial keyMaterial, String tenantId) {
+        if (!(keyMaterial.getSigningKey() instanceof SecretKey secretKey)) {
+            return null;
+        }
+        String jwsAlgorithm = switch (secretKey.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> null;
+        };
+        return jwsAlgorithm == null ? null : new HmacJwtWriter(secretKey, jwsAlgorithm, keyMaterial.getKeyId(), tenantId);
+    }
+
+    /**
+     * Writes and signs a token with the sample's claim layout.
+     *
+     * @param keyThumbprint    {@code cnf.jkt}, or {@code null} for a bearer token
+     * @param issuedAtSeconds  {@code iat}, epoch seconds
+     * @param expiresAtSeconds {@code exp}, epoch seconds
+     */
+    String write(String userId, String username, Collection<? extends GrantedAuthority> roles,
+                 String keyThumbprint, long issuedAtSeconds, long expiresAtSeconds) {
+        Buffers b = buffers.get();
+        b.json = 0;
+
+        b.put(USER_ID);
+        b.putString(userId);
+        b.put(USERNAME);
+        b.putString(username);
+        b.put(ROLES);
+        boolean first = true;
+        for (GrantedAuthority role : roles) {
+            if (!first) {
+                b.put((byte) ',');
+            }
+            b.putString(role.getAuthority());
+            first = false;
+        }
+        if (tenantClaim != null) {
+            b.put(TENANT);
+            b.put(tenantClaim);
+        } else {
+            b.put(ROLES_END);
+        }
+        if (keyThumbprint != null) {
+            b.put(CONFIRMATION);
+            b.putString(keyThumbprint);
+            b.put((byte) '}');
+        }
+        b.put(SUBJECT);
+        b.putString(username);
+        b.put(ISSUED_AT);
+        b.putLong(issuedAtSeconds);
+        b.put(EXPIRATION);
+        b.putLong(expiresAtSeconds);
+        b.put((byte) '}');
+
+        // header. + base64url(payload) + . + base64url(signature)
+        int macLength = b.mac.getMacLength();
+        b.ensureOut(headerSegment.length + encodedLength(b.json) + 1 + encodedLength(macLength));
+        System.arraycopy(headerSegment, 0, b.out, 0, headerSegment.length);
+        int length = encode(b.jsonBuffer, 0, b.json, b.out, headerSegment.length);
+
+        try {
+            b.mac.update(b.out, 0, length);
+            b.mac.doFinal(b.signature, 0);
+        } catch (GeneralSecurityException e) {
+            b.mac.reset();
+            throw new IllegalStateException("Failed to sign token", e);
+        }
+        b.out[length++] = '.';
+        length = encode(b.signature, 0, macLength, b.out, length);
+
+        return new String(b.out, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + algorithm, e);
+        }
+    }
+
+    private static int encodedLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    /**
+     * Unpadded base64url of {@code src[from, from+len)} into {@code dst} at {@code at}; returns the end offset.
+     */
+    private static int encode(byte[] src, int from, int len, byte[] dst, int at) {
+        int end = from + len;
+        int i = from;
+        for (; i + 2 < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[at++] = BASE64URL[bits >>> 18];
+            dst[at++] = BASE64URL[(bits >>> 12) & 0x3f];
+            dst[at++] = BASE64URL[(bits >>> 6) & 0x3f];
+            dst[at++] = BASE64URL[bits & 0x3f];
+        }
+        int remaining = end - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[at++] = BASE64URL[bits >>> 18];
+            dst[at++] = BASE64URL[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[at++] = BASE64URL[bits >>> 18];
+            dst[at++] = BASE64URL[(bits >>> 12) & 0x3f];
+            dst[at++] = BASE64URL[(bits >>> 6) & 0x3f];
+        }
+        return at;
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append(new String(jsonString(value), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] jsonString(String value) {
+        Buffers scratch = new Buffers(null);
+        scratch.putString(value);
+        return Arrays.copyOf(scratch.jsonBuffer, scratch.json);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Per-thread scratch space; grows to the largest token a thread has written.
+     */
+    private static final class Buffers {
+
+        final Mac mac;
+        final byte[] signature = new byte[64];
+        byte[] jsonBuffer = new byte[256];
+        byte[] out = new byte[512];
+        int json;
+
+        Buffers(Mac mac) {
+            this.mac = mac;
+        }
+
+        void ensureOut(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[Math.max(capacity, out.length * 2)];
+            }
+        }
+
+        void ensureJson(int extra) {
+            if (json + extra > jsonBuffer.length) {
+                jsonBuffer = Arrays.copyOf(jsonBuffer, Math.max(json + extra, jsonBuffer.length * 2));
+            }
+        }
+
+        void put(byte value) {
+            ensureJson(1);
+            jsonBuffer[json++] = value;
+        }
+
+        void put(byte[] value) {
+            ensureJson(value.length);
+            System.arraycopy(value, 0, jsonBuffer, json, value.length);
+            json += value.length;
+        }
+
+        void putLong(long value) {
+            // Digits are written least significant first, then reversed in place
+            ensureJson(20);
+            if (value == 0) {
+                jsonBuffer[json++] = '0';
+                return;
+            }
+            if (value < 0) {
+                jsonBuffer[json++] = '-';
+                value = -value;
+            }
+            int start = json;
+            while (value > 0) {
+                jsonBuffer[json++] = (byte) ('0' + (value % 10));
+                value /= 10;
+            }
+            for (int l = start, r = json - 1; l < r; l++, r--) {
+                byte t = jsonBuffer[l];
+                jsonBuffer[l] = jsonBuffer[r];
+                jsonBuffer[r] = t;
+            }
+        }
+
+        /**
+         * Writes a quoted JSON string as UTF-8, escaping quotes, backslashes and control characters.
+         */
+        void putString(String value) {
+            if (value == null) {
+                put(NULL);
+                return;
+            }
+            // Worst case: every char a \\u00XX escape (6 bytes), or 3 UTF-8 bytes
+            ensureJson(value.length() * 6 + 2);
+            byte[] buf = jsonBuffer;
+            int at = json;
+            buf[at++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    buf[at++] = '\\';
+                    buf[at++] = (byte) c;
+                } else if (c < 0x20) {
+                    buf[at++] = '\\';
+                    buf[at++] = 'u';
+                    buf[at++] = '0';
+                    buf[at++] = '0';
+                    buf[at++] = HEX[c >> 4];
+                    buf[at++] = HEX[c & 0xf];
+                } else if (c < 0x80) {
+                    buf[at++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[at++] = (byte) (0xc0 | (c >> 6));
+                    buf[at++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    buf[at++] = (byte) (0xf0 | (cp >> 18));
+                    buf[at++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    buf[at++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    buf[at++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    if (Character.isSurrogate(c)) {
+                        c = '\uFFFD';
+                    }
+                    buf[at++] = (byte) (0xe0 | (c >> 12));
+                    buf[at++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    buf[at++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            buf[at++] = '"';
+            json = at;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.assessment.security.util;
+
+import com.assessment.security.jwks.RsaJwks;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Immutable signing/verification key pair used by {@link JwtUtil}.
+ * HMAC material has no public part and is never published; RSA material
+ * exposes its public key so it can be served as a JWK.
+ */
+public final class JwtKeyMaterial {
+
+    private final String keyId;
+    private final Key signingKey;
+    private final Key verificationKey;
+    private final RSAPublicKey publicKey;
+
+    private JwtKeyMaterial(String keyId, Key signingKey, Key verificationKey, RSAPublicKey publicKey) {
+        this.keyId = keyId;
+        this.signingKey = signingKey;
+        this.verificationKey = verificationKey;
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * Creates HMAC key material from a shared secret.
+     */
+    public static JwtKeyMaterial hmac(String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new JwtKeyMaterial(null, key, key, null);
+    }
+
+    /**
+     * Creates RSA key material. When no key id is given the RFC 7638 thumbprint is used.
+     */
+    public static JwtKeyMaterial rsa(KeyPair keyPair, String keyId) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        String kid = (keyId == null || keyId.isBlank()) ? RsaJwks.thumbprint(publicKey) : keyId;
+        return new JwtKeyMaterial(kid, keyPair.getPrivate(), publicKey, publicKey);
+    }
+
+    /**
+     * Loads RSA key material from base64 (optionally PEM-armoured) PKCS#8 / X.509 encodings.
+     * A fresh 2048-bit pair is generated when no private key is configured.
+     */
+    public static JwtKeyMaterial rsa(String privateKey, String publicKey, String keyId) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            if (privateKey == null || privateKey.isBlank()) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                return rsa(generator.generateKeyPair(), keyId);
+            }
+
+            PrivateKey priv = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+            RSAPublicKey pub;
+            if (publicKey != null && !publicKey.isBlank()) {
+                pub = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey)));
+            } else if (priv instanceof RSAPrivateCrtKey crt) {
+                pub = (RSAPublicKey) keyFactory.generatePublic(
+                        new RSAPublicKeySpec(crt.getModulus(), crt.getPublicExponent()));
+            } else {
+                throw new IllegalArgumentException("security.jwt.rsa.public-key is required for this private key");
+            }
+            return rsa(new KeyPair(pub, priv), keyId);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid RSA key material: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] decodePem(String value) {
+        String base64 = value.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public Key getVerificationKey() {
+        return verificationKey;
+    }
+
+    /**
+     * Public key to publish, or {@code null} for symmetric material.
+     */
+    public RSAPublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    public boolean isAsymmetric() {
+        return publicKey != null;
+    }
+}
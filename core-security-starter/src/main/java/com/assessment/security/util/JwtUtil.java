@@ -1,17 +1,28 @@
 package com.assessment.security.util;
 
+import com.assessment.security.token.IssuedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -20,36 +31,109 @@ import java.util.function.Function;
  */
 public class JwtUtil {
 
-    private final String secret;
+    /**
+     * Header parameter and claim carrying the tenant id of multi-tenant tokens.
+     */
+    public static final String TENANT_CLAIM = "tid";
+
+    /**
+     * Confirmation claim of sender-constrained tokens, {@code {"jkt": <key thumbprint>}}.
+     */
+    public static final String CONFIRMATION_CLAIM = "cnf";
+
     private final long expiration;
+    private final String tenantId;
+    private final List<Consumer<JwtUtil>> keyChangeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile JwtKeyMaterial currentKey;
+    private volatile HmacJwtWriter hmacWriter;
+    private volatile JwtKeyMaterial previousKey;
+    private volatile Locator<Key> verificationKeyLocator;
+    private volatile BiFunction<String, String, Key> tenantKeyResolver;
+    private volatile JwtParser parser;
 
     public JwtUtil(String secret, long expiration) {
-        this.secret = secret;
+        this(JwtKeyMaterial.hmac(secret), expiration);
+    }
+
+    public JwtUtil(JwtKeyMaterial keyMaterial, long expiration) {
+        this(keyMaterial, expiration, null);
+    }
+
+    /**
+     * Creates a tenant-scoped instance whose tokens carry the tenant id.
+     */
+    public JwtUtil(JwtKeyMaterial keyMaterial, long expiration, String tenantId) {
+        this.currentKey = keyMaterial;
         this.expiration = expiration;
+        this.tenantId = tenantId;
+        this.hmacWriter = HmacJwtWriter.forKey(keyMaterial, tenantId);
+        this.parser = buildParser();
     }
 
     public String generateToken(UserDetails userDetails, String userId) {
+        return issueToken(userDetails, userId).token();
+    }
+
+    /**
+     * Generates a token and returns it together with its expiry, so callers
+     * do not have to parse the token again to read {@code exp}.
+     * HMAC tokens are written by {@link HmacJwtWriter}; other keys go through jjwt.
+     */
+    public IssuedToken issueToken(UserDetails userDetails, String userId) {
+        return issueToken(userDetails, userId, null);
+    }
+
+    /**
+     * Generates a token bound to the DPoP key with the given thumbprint,
+     * or a plain bearer token when {@code keyThumbprint} is {@code null}.
+     */
+    public IssuedToken issueToken(UserDetails userDetails, String userId, String keyThumbprint) {
+        HmacJwtWriter writer = hmacWriter;
+        if (writer != null) {
+            long now = System.currentTimeMillis();
+            long expiresAt = (now + expiration) / 1000;
+            String token = writer.write(userId, userDetails.getUsername(), userDetails.getAuthorities(),
+                    keyThumbprint, now / 1000, expiresAt);
+            return new IssuedToken(token, expiresAt * 1000);
+        }
+
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("username", userDetails.getUsername());
         claims.put("roles", userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList());
+        if (keyThumbprint != null) {
+            claims.put(CONFIRMATION_CLAIM, Map.of("jkt", keyThumbprint));
+        }
 
         return createToken(claims, userDetails.getUsername());
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private IssuedToken createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
+        // exp is serialized in whole seconds
+        Date expiryDate = new Date((now.getTime() + expiration) / 1000 * 1000);
+        JwtKeyMaterial key = currentKey;
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (key.getKeyId() != null) {
+            builder.header().keyId(key.getKeyId());
+        }
+        if (tenantId != null) {
+            // In the protected header so the verifier can pick the tenant key before checking the signature
+            builder.header().add(TENANT_CLAIM, tenantId);
+            claims.put(TENANT_CLAIM, tenantId);
+        }
+        String token = builder
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(key.getSigningKey())
                 .compact();
+        return new IssuedToken(token, expiryDate.getTime());
     }
 
     public boolean validateToken(String token, String username) {
@@ -89,20 +173,138 @@ public class JwtUtil {
     }
 
 
+    /**
+     * Verifies the token once and returns all of its claims.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the signature is invalid or the token expired.
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+
+    /**
+     * The key is chosen by the {@code tid} header but the principal's tenant comes
+     * from the {@code tid} claim, so the two must agree: a token signed with a
+     * tenant key must not pass as another tenant's, or as a tenantless one.
+     */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+        Object headerTenant = jws.getHeader().get(TENANT_CLAIM);
+        Object claimTenant = claims.get(TENANT_CLAIM);
+        if (!Objects.equals(headerTenant, claimTenant) || (tenantId != null && !tenantId.equals(headerTenant))) {
+            throw new IncorrectClaimException(jws.getHeader(), claims, TENANT_CLAIM, claimTenant,
+                    "Token tenant claim does not match the tenant of its signing key");
+        }
+        return claims;
     }
 
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Replaces the signing key. The previous key stays valid for verification
+     * so tokens issued before the rotation keep working until they expire.
+     */
+    public synchronized void rotateKeys(JwtKeyMaterial next) {
+        this.previousKey = this.currentKey;
+        this.hmacWriter = HmacJwtWriter.forKey(next, tenantId);
+        this.currentKey = next;
+        this.parser = buildParser();
+        keyChangeListeners.forEach(listener -> listener.accept(this));
+    }
+
+    /**
+     * Verifies tokens with keys from an external source (e.g. a remote JWKS)
+     * in addition to the local key material, which is consulted when the
+     * external source has no key for the token. Tenant tokens still go to
+     * the tenant key resolver.
+     */
+    public void setVerificationKeyLocator(Locator<Key> locator) {
+        this.verificationKeyLocator = locator;
+    }
+
+    /**
+     * Resolves verification keys of tokens carrying a {@code tid} header,
+     * given the tenant id and {@code kid} (which may be {@code null}).
+     */
+    public void setTenantKeyResolver(BiFunction<String, String, Key> tenantKeyResolver) {
+        this.tenantKeyResolver = tenantKeyResolver;
+    }
+
+    /**
+     * Returns the current or previous verification key matching the {@code kid},
+     * or the current key when no {@code kid} is given.
+     */
+    public Key locateKey(String kid) {
+        JwtKeyMaterial current = currentKey;
+        if (kid == null || kid.equals(current.getKeyId())) {
+            return current.getVerificationKey();
+        }
+        JwtKeyMaterial previous = previousKey;
+        if (previous != null && kid.equals(previous.getKeyId())) {
+            return previous.getVerificationKey();
+        }
+        return null;
+    }
+
+    public long getExpiration() {
+        return expiration;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Registers a callback invoked after every key rotation.
+     */
+    public void addKeyChangeListener(Consumer<JwtUtil> listener) {
+        keyChangeListeners.add(listener);
+    }
+
+    /**
+     * Returns the keys currently accepted for verification, newest first.
+     */
+    public List<JwtKeyMaterial> getActiveKeys() {
+        List<JwtKeyMaterial> keys = new ArrayList<>(2);
+        keys.add(currentKey);
+        JwtKeyMaterial previous = previousKey;
+        if (previous != null) {
+            keys.add(previous);
+        }
+        return keys;
+    }
+
+    private JwtParser buildParser() {
+        return Jwts.parser()
+                .keyLocator(new LocalKeyLocator())
+                .build();
+    }
+
+    /**
+     * Resolves the verification key by {@code kid}, falling back to the current key.
+     * Tokens of other tenants are delegated to the tenant key resolver, the rest
+     * are tried against the external locator first when one is set.
+     */
+    private final class LocalKeyLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            Object tid = header.get(TENANT_CLAIM);
+            if (tid != null && !tid.equals(tenantId)) {
+                BiFunction<String, String, Key> resolver = tenantKeyResolver;
+                return resolver != null ? resolver.apply(tid.toString(), header.getKeyId()) : null;
+            }
+            Locator<Key> external = verificationKeyLocator;
+            if (external != null) {
+                Key key = external.locate(header);
+                if (key != null) {
+                    return key;
+                }
+            }
+            return locateKey(header.getKeyId());
+        }
     }
 }
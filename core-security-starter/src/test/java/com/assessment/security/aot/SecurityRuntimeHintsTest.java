@@ -0,0 +1,48 @@
+package com.assessment.security.aot;
+
+import com.assessment.security.dto.LoginResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ClassUtils;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @BeforeEach
+    void registerHints() {
+        new SecurityRuntimeHints().registerHints(hints, classLoader);
+    }
+
+    @Test
+    void everyRegisteredTypeExists() {
+        hints.reflection().typeHints().forEach(hint -> {
+            TypeReference type = hint.getType();
+            assertTrue(ClassUtils.isPresent(type.getName(), classLoader), () -> "No such class: " + type.getName());
+        });
+    }
+
+    @Test
+    void compressionAlgorithmsAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.compression.DeflateCompressionAlgorithm"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.compression.GzipCompressionAlgorithm"))
+                .test(hints));
+    }
+
+    @Test
+    void jjwtServiceFilesAndDtosAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer")
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LoginResponse.class).test(hints));
+    }
+}
@@ -0,0 +1,52 @@
+package com.assessment.security.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogCodecTest {
+
+    @Test
+    void roundTripsEvents() {
+        SecurityEvent event = new SecurityEvent(SecurityEventType.LOGIN_FAILURE, 1234L,
+                "zoë", null, "acme", "10.0.0.1", "/api/public/auth/login", "Invalid username or password");
+
+        assertEquals(event, roundTrip(event));
+    }
+
+    @Test
+    void truncatesLongStringsOnACharacterBoundary() {
+        // 3-byte characters: the byte limit falls inside the last one that does not fit
+        String detail = "€".repeat(AuditLogCodec.MAX_STRING_BYTES / 3 + 10);
+        String emoji = "a" + "😀".repeat(AuditLogCodec.MAX_STRING_BYTES / 4 + 10);
+
+        SecurityEvent read = roundTrip(new SecurityEvent(SecurityEventType.UNAUTHORIZED, 1L,
+                null, null, null, null, emoji, detail));
+
+        assertEquals(detail.substring(0, AuditLogCodec.MAX_STRING_BYTES / 3), read.detail());
+        assertTrue(emoji.startsWith(read.path()));
+        assertTrue(read.path().getBytes(StandardCharsets.UTF_8).length <= AuditLogCodec.MAX_STRING_BYTES);
+        assertTrue(Character.isSurrogatePair(
+                read.path().charAt(read.path().length() - 2), read.path().charAt(read.path().length() - 1)));
+        assertNull(read.username());
+    }
+
+    private static SecurityEvent roundTrip(SecurityEvent event) {
+        byte[][] strings = AuditLogCodec.strings(event);
+        int size = AuditLogCodec.recordSize(strings);
+        ByteBuffer buffer = ByteBuffer.allocate(AuditLogCodec.HEADER_BYTES + size + Integer.BYTES);
+        AuditLogCodec.writeHeader(buffer);
+        AuditLogCodec.write(buffer, event, strings, size);
+        buffer.flip();
+
+        AuditLogCodec.readHeader(buffer);
+        SecurityEvent read = AuditLogCodec.read(buffer);
+        assertNull(AuditLogCodec.read(buffer));
+        return read;
+    }
+}
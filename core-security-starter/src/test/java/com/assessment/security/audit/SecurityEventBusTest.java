@@ -0,0 +1,55 @@
+package com.assessment.security.audit;
+
+import com.assessment.security.properties.SecurityProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityEventBusTest {
+
+    @Test
+    void flushesSinksWhileIdle() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        try (SecurityEventBus bus = new SecurityEventBus(List.of(sink), 16,
+                SecurityProperties.Audit.Backpressure.DROP_NEWEST, Duration.ZERO)) {
+            bus.publish(event());
+
+            // One flush follows the batch; the rest can only come from idle polls
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sink.flushes.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(1, sink.written.size());
+            assertTrue(sink.flushes.get() >= 3, "flushed " + sink.flushes.get() + " times");
+        }
+    }
+
+    private static SecurityEvent event() {
+        return new SecurityEvent(SecurityEventType.LOGIN_SUCCESS, 1L,
+                "alice", "id-1", null, "10.0.0.1", "/api/public/auth/login", null);
+    }
+
+    private static final class RecordingSink implements SecurityEventSink {
+
+        private final List<SecurityEvent> written = new CopyOnWriteArrayList<>();
+        private final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public void write(SecurityEvent event) {
+            written.add(event);
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+    }
+}
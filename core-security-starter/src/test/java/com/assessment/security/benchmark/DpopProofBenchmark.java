@@ -0,0 +1,124 @@
+package com.assessment.security.benchmark;
+
+import com.assessment.security.context.JwtPrincipal;
+import com.assessment.security.dpop.DpopProofVerifier;
+import com.assessment.security.dpop.JtiReplayCache;
+import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extra per-request cost of a sender-constrained token: verifying the
+ * {@code DPoP} proof (parsing, embedded-key signature check, claim checks and
+ * thumbprint) next to the bearer-token verification every request already pays,
+ * and the replay-cache insert on its own. Run the cache with several threads,
+ * e.g. {@code -Djmh.args="DpopProof.replayCacheAdd -t 4"}, to see stripe contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DpopProofBenchmark {
+
+    private static final String URL = "http://localhost/api/user/me";
+
+    @Param({"ES256", "RS256"})
+    private String algorithm;
+
+    private JwtUtil jwtUtil;
+    private DpopProofVerifier verifier;
+    private JtiReplayCache replayCache;
+    private String token;
+    private String proof;
+
+    @Setup
+    public void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        jwtUtil = new JwtUtil(properties.getSecret(), properties.getExpiration());
+        KeyPair key = "RS256".equals(algorithm)
+                ? Jwts.SIG.RS256.keyPair().build()
+                : Jwts.SIG.ES256.keyPair().build();
+        UserDetails user = User.withUsername("user").password("n/a").authorities("ROLE_USER").build();
+        String thumbprint = Jwks.builder().key(key.getPublic()).build().thumbprint().toString();
+        token = jwtUtil.issueToken(user, UUID.randomUUID().toString(), thumbprint).token();
+
+        proof = Jwts.builder()
+                .header().type("dpop+jwt").jwk(Jwks.builder().key(key.getPublic()).build()).and()
+                .id(UUID.randomUUID().toString())
+                .claim("htm", "GET")
+                .claim("htu", URL)
+                .claim("ath", DpopProofVerifier.tokenHash(token))
+                .issuedAt(new Date())
+                .signWith(key.getPrivate())
+                .compact();
+
+        // The same proof is verified on every call, so replay detection is measured separately
+        verifier = new DpopProofVerifier(Duration.ofMinutes(10), Duration.ofSeconds(5),
+                new JtiReplayCache(Duration.ofMinutes(10), 1) {
+                    @Override
+                    public boolean add(String jti, long nowMillis) {
+                        return true;
+                    }
+                });
+        replayCache = new JtiReplayCache(Duration.ofSeconds(60), 1_000_000);
+    }
+
+    @Benchmark
+    public JwtPrincipal bearerVerify() {
+        return JwtPrincipal.from(jwtUtil.parseClaims(token));
+    }
+
+    @Benchmark
+    public String proofVerify() {
+        return verifier.verify(proof, "GET", URL, token);
+    }
+
+    @Benchmark
+    public boolean replayCacheAdd(Ids ids) {
+        return replayCache.add(ids.next(), ids.now++);
+    }
+
+    /**
+     * Unique ids per thread on a synthetic clock advancing 1 ms per insert, so
+     * about 60,000 ids are live at any time and none repeats within the retention.
+     */
+    @State(Scope.Thread)
+    public static class Ids {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private static final int COUNT = 1 << 20;
+
+        private final String[] ids = new String[COUNT];
+        private int index;
+        long now = System.currentTimeMillis();
+
+        @Setup
+        public void setUp() {
+            String prefix = THREADS.incrementAndGet() + ":";
+            for (int i = 0; i < COUNT; i++) {
+                ids[i] = prefix + UUID.randomUUID();
+            }
+        }
+
+        String next() {
+            return ids[index++ & (COUNT - 1)];
+        }
+    }
+}
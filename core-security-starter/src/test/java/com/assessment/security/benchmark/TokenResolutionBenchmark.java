@@ -0,0 +1,66 @@
+package com.assessment.security.benchmark;
+
+import com.assessment.security.context.JwtPrincipal;
+import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.token.InMemoryTokenStore;
+import com.assessment.security.token.TokenIssuer;
+import com.assessment.security.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning an access token into a principal:
+ * JWT signature verification and claim parsing versus an opaque-handle lookup
+ * in a store holding {@code storeSize} live tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenResolutionBenchmark {
+
+    @Param({"1000", "100000"})
+    private int storeSize;
+
+    private JwtUtil jwtUtil;
+    private InMemoryTokenStore tokenStore;
+    private String jwt;
+    private String handle;
+
+    @Setup
+    public void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        jwtUtil = new JwtUtil(properties.getSecret(), properties.getExpiration());
+        tokenStore = new InMemoryTokenStore(storeSize + 1);
+
+        UserDetails user = User.withUsername("user").password("n/a").authorities("ROLE_USER").build();
+        jwt = jwtUtil.generateToken(user, UUID.randomUUID().toString());
+
+        properties.setTokenMode(SecurityProperties.TokenMode.OPAQUE);
+        TokenIssuer issuer = new TokenIssuer(jwtUtil, tokenStore, properties);
+        for (int i = 0; i < storeSize - 1; i++) {
+            issuer.issue(user, UUID.randomUUID().toString());
+        }
+        handle = issuer.issue(user, UUID.randomUUID().toString()).token();
+    }
+
+    @Benchmark
+    public JwtPrincipal jwtVerify() {
+        return JwtPrincipal.from(jwtUtil.parseClaims(jwt));
+    }
+
+    @Benchmark
+    public JwtPrincipal opaqueLookup() {
+        return tokenStore.resolve(handle);
+    }
+}
@@ -0,0 +1,36 @@
+package com.assessment.security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OnRoleHierarchyConditionTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(RoleHierarchyConfiguration.class);
+
+    @Test
+    void matchesWhenRolesAreConfigured() {
+        runner.withPropertyValues("security.jwt.role-hierarchy.ADMIN[0]=USER")
+                .run(context -> assertThat(context).hasBean("marker"));
+    }
+
+    @Test
+    void doesNotMatchWithoutRoles() {
+        runner.run(context -> assertThat(context).doesNotHaveBean("marker"));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class RoleHierarchyConfiguration {
+
+        @Bean
+        @Conditional(OnRoleHierarchyCondition.class)
+        String marker() {
+            return "marker";
+        }
+    }
+}
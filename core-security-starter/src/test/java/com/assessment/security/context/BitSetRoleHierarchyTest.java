@@ -0,0 +1,86 @@
+package com.assessment.security.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitSetRoleHierarchyTest {
+
+    private final BitSetRoleHierarchy hierarchy = new BitSetRoleHierarchy(Map.of(
+            "ADMIN", List.of("MANAGER"),
+            "MANAGER", List.of("USER"),
+            "AUDITOR", List.of("USER")));
+
+    @Test
+    void expandsTransitively() {
+        assertEquals(
+                List.of("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER"),
+                hierarchy.expand(List.of("ROLE_ADMIN")).stream().map(GrantedAuthority::getAuthority).sorted().toList());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), hierarchy.expand(List.of("ROLE_USER")));
+    }
+
+    @Test
+    void passesThroughAuthoritiesOutsideTheHierarchy() {
+        assertEquals(
+                List.of("ROLE_OTHER", "ROLE_USER"),
+                hierarchy.getReachableGrantedAuthorities(List.of(
+                                new SimpleGrantedAuthority("ROLE_OTHER"), new SimpleGrantedAuthority("ROLE_USER")))
+                        .stream().map(GrantedAuthority::getAuthority).sorted().toList());
+    }
+
+    @Test
+    void rejectsCycles() {
+        assertThrows(IllegalStateException.class, () -> new BitSetRoleHierarchy(Map.of(
+                "A", List.of("B"),
+                "B", List.of("C"),
+                "C", List.of("A"))));
+    }
+
+    @Test
+    void tokenChecksRolesAgainstItsBitset() {
+        JwtAuthenticationToken token = token("ROLE_MANAGER", "ROLE_OTHER");
+
+        assertTrue(token.hasAuthority("ROLE_MANAGER"));
+        assertTrue(token.hasAuthority("ROLE_USER"));
+        assertTrue(token.hasAuthority("ROLE_OTHER"));
+        assertFalse(token.hasAuthority("ROLE_ADMIN"));
+        assertFalse(token.hasAuthority("ROLE_AUDITOR"));
+        assertFalse(token.hasAuthority("ROLE_MISSING"));
+    }
+
+    @Test
+    void expressionHandlerUsesTheHierarchy() throws Exception {
+        JwtMethodSecurityExpressionHandler handler = new JwtMethodSecurityExpressionHandler();
+        JwtAuthenticationToken token = token("ROLE_ADMIN");
+        EvaluationContext context = handler.createEvaluationContext(
+                () -> token, new SimpleMethodInvocation(this, Object.class.getMethod("toString")));
+
+        assertTrue(evaluate(handler, "hasRole('USER')", context));
+        assertTrue(evaluate(handler, "hasAuthority('ROLE_MANAGER')", context));
+        assertTrue(evaluate(handler, "hasAnyRole('AUDITOR', 'ROLE_ADMIN')", context));
+        assertTrue(evaluate(handler, "isAuthenticated()", context));
+        assertFalse(evaluate(handler, "hasRole('AUDITOR')", context));
+    }
+
+    private JwtAuthenticationToken token(String... roles) {
+        JwtPrincipal principal = new JwtPrincipal("1", "alice", List.of(roles), Instant.now().plusSeconds(60), null);
+        return new JwtAuthenticationToken(principal, hierarchy, "127.0.0.1");
+    }
+
+    private static boolean evaluate(JwtMethodSecurityExpressionHandler handler, String expression,
+                                    EvaluationContext context) {
+        return ExpressionUtils.evaluateAsBoolean(handler.getExpressionParser().parseExpression(expression), context);
+    }
+}
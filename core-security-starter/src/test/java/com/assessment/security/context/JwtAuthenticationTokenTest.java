@@ -0,0 +1,79 @@
+package com.assessment.security.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtAuthenticationTokenTest {
+
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Test
+    void authoritiesAreImmutable() {
+        JwtAuthenticationToken token = new JwtAuthenticationToken(principal("ROLE_USER"), "127.0.0.1");
+
+        @SuppressWarnings("unchecked")
+        Collection<GrantedAuthority> authorities = (Collection<GrantedAuthority>) token.getAuthorities();
+        assertThrows(UnsupportedOperationException.class,
+                () -> authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    void internsAuthoritiesOfRepeatedRoles() {
+        JwtAuthenticationToken first = new JwtAuthenticationToken(principal("ROLE_USER"), "127.0.0.1");
+        JwtAuthenticationToken second = new JwtAuthenticationToken(principal("ROLE_USER"), "127.0.0.1");
+
+        assertSame(first.getAuthorities().iterator().next(), second.getAuthorities().iterator().next());
+    }
+
+    @Test
+    void stillGrantsRolesOnceInternedRoleNamesRunOut() {
+        for (int i = 0; i < 1000; i++) {
+            JwtAuthenticationToken token = new JwtAuthenticationToken(principal("ROLE_GENERATED_" + i), "127.0.0.1");
+            assertTrue(token.hasAuthority("ROLE_GENERATED_" + i));
+        }
+    }
+
+    @Test
+    void survivesSerialization() throws Exception {
+        BitSetRoleHierarchy hierarchy = new BitSetRoleHierarchy(Map.of("ADMIN", List.of("USER")));
+        JwtAuthenticationToken token = new JwtAuthenticationToken(principal("ROLE_ADMIN"), hierarchy, "10.0.0.1");
+
+        JwtAuthenticationToken copy = roundTrip(token);
+
+        assertEquals(token, copy);
+        assertEquals(token.getPrincipal(), copy.getPrincipal());
+        assertTrue(copy.hasAuthority("ROLE_USER"));
+        assertFalse(copy.hasAuthority("ROLE_AUDITOR"));
+        assertThrows(UnsupportedOperationException.class, () -> copy.getAuthorities().clear());
+    }
+
+    private static JwtPrincipal principal(String role) {
+        return new JwtPrincipal("1", "alice", List.of(role), EXPIRES_AT, null);
+    }
+
+    private static JwtAuthenticationToken roundTrip(JwtAuthenticationToken token) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(token);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (JwtAuthenticationToken) in.readObject();
+        }
+    }
+}
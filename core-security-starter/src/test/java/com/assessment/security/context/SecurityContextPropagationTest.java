@@ -0,0 +1,106 @@
+package com.assessment.security.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecurityContextPropagationTest {
+
+    private final Authentication alice = new TestingAuthenticationToken("alice", null, "ROLE_USER");
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void runnableSeesCallerAndWorkerIsClearedAfterwards() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        SecurityContextHolder.getContext().setAuthentication(alice);
+        Runnable task = SecurityContextPropagation.wrap((Runnable) () -> seen.set(currentAuthentication()));
+        SecurityContextHolder.clearContext();
+
+        try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+            worker.submit(task).get();
+            assertSame(alice, seen.get());
+            assertNull(worker.submit(SecurityContextPropagationTest::currentAuthentication).get());
+        }
+    }
+
+    @Test
+    void workerIsClearedWhenTaskThrows() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(alice);
+        Runnable task = SecurityContextPropagation.wrap((Runnable) () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> worker.submit(task).get());
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+            assertNull(worker.submit(SecurityContextPropagationTest::currentAuthentication).get());
+        }
+    }
+
+    @Test
+    void callableSeesCallerAndRestoresThePreviousContext() throws Exception {
+        Authentication bob = new TestingAuthenticationToken("bob", null, "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(alice);
+        var task = SecurityContextPropagation.wrap(SecurityContextPropagationTest::currentAuthentication);
+
+        SecurityContextHolder.getContext().setAuthentication(bob);
+        assertSame(alice, task.call());
+        assertSame(bob, currentAuthentication());
+    }
+
+    @Test
+    void tasksSubmittedWithoutAuthenticationAreNotWrapped() {
+        Runnable task = () -> {
+        };
+
+        assertSame(task, SecurityContextPropagation.wrap(task));
+    }
+
+    @Test
+    void executorServicePropagatesAndClears() throws Exception {
+        try (ExecutorService executor = SecurityContextPropagation.wrap(Executors.newSingleThreadExecutor())) {
+            SecurityContextHolder.getContext().setAuthentication(alice);
+            Future<Authentication> seen = executor.submit(SecurityContextPropagationTest::currentAuthentication);
+            Future<?> failed = executor.submit(() -> {
+                throw new IllegalStateException("boom");
+            });
+            SecurityContextHolder.clearContext();
+
+            assertSame(alice, seen.get());
+            assertThrows(ExecutionException.class, failed::get);
+            assertNull(executor.submit(SecurityContextPropagationTest::currentAuthentication).get());
+        }
+    }
+
+    @Test
+    void virtualThreadExecutorPropagatesAndShutsDown() throws Exception {
+        ExecutorService executor = SecurityContextPropagation.virtualThreadExecutor();
+        try (executor) {
+            SecurityContextHolder.getContext().setAuthentication(alice);
+            assertEquals("alice", executor.submit(() -> currentAuthentication().getName()).get());
+        }
+        assertTrue(executor.isTerminated());
+    }
+
+    private static Authentication currentAuthentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
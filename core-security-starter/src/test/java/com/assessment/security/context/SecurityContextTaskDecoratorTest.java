@@ -0,0 +1,53 @@
+package com.assessment.security.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SecurityContextTaskDecoratorTest {
+
+    private final SecurityContextTaskDecorator decorator = new SecurityContextTaskDecorator();
+    private final Authentication alice = new TestingAuthenticationToken("alice", null, "ROLE_USER");
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void decoratedTaskRunsAsCallerAndClearsAfterwards() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        SecurityContextHolder.getContext().setAuthentication(alice);
+        Runnable task = decorator.decorate(() -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+            worker.submit(task).get();
+            assertSame(alice, seen.get());
+            assertNull(worker.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get());
+        }
+    }
+
+    @Test
+    void decoratedTaskClearsWhenItThrows() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(alice);
+        Runnable task = decorator.decorate(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        try (ExecutorService worker = Executors.newSingleThreadExecutor()) {
+            assertThrows(ExecutionException.class, () -> worker.submit(task).get());
+            assertNull(worker.submit(() -> SecurityContextHolder.getContext().getAuthentication()).get());
+        }
+    }
+}
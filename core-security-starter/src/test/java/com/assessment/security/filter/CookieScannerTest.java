@@ -0,0 +1,61 @@
+package com.assessment.security.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CookieScannerTest {
+
+    @Test
+    void findsCookieAnywhereInTheHeader() {
+        assertEquals("abc", CookieScanner.find("token=abc", "token"));
+        assertEquals("abc", CookieScanner.find("token=abc; theme=dark", "token"));
+        assertEquals("abc", CookieScanner.find("theme=dark; token=abc", "token"));
+        assertEquals("abc", CookieScanner.find("a=1; token=abc; b=2", "token"));
+    }
+
+    @Test
+    void toleratesExtraSeparatorsAndWhitespace() {
+        assertEquals("abc", CookieScanner.find(";;  \ttoken=abc;", "token"));
+        assertEquals("abc", CookieScanner.find("a=1;token=abc", "token"));
+        assertEquals("abc", CookieScanner.find("a=1;\t token=abc  ; b=2", "token"));
+    }
+
+    @Test
+    void matchesWholeNamesOnly() {
+        assertEquals("2", CookieScanner.find("tokenx=1; token=2", "token"));
+        assertEquals("2", CookieScanner.find("xtoken=1; token=2", "token"));
+        assertEquals("2", CookieScanner.find("token; token=2", "token"));
+        assertNull(CookieScanner.find("Token=1", "token"));
+        assertNull(CookieScanner.find("a=token=1", "token"));
+    }
+
+    @Test
+    void returnsFirstOfDuplicateCookies() {
+        assertEquals("first", CookieScanner.find("token=first; token=second", "token"));
+    }
+
+    @Test
+    void unquotesValues() {
+        assertEquals("abc", CookieScanner.find("token=\"abc\"", "token"));
+        assertEquals("\"abc", CookieScanner.find("token=\"abc", "token"));
+        assertEquals("a=b", CookieScanner.find("token=a=b", "token"));
+    }
+
+    @Test
+    void treatsEmptyValuesAsAbsent() {
+        assertNull(CookieScanner.find("token=", "token"));
+        assertNull(CookieScanner.find("token=; a=1", "token"));
+        assertNull(CookieScanner.find("token=\"\"", "token"));
+        assertNull(CookieScanner.find("token=   ", "token"));
+    }
+
+    @Test
+    void returnsNullWhenAbsent() {
+        assertNull(CookieScanner.find("", "token"));
+        assertNull(CookieScanner.find(";; ", "token"));
+        assertNull(CookieScanner.find("a=1; b=2", "token"));
+        assertNull(CookieScanner.find("tok", "token"));
+    }
+}
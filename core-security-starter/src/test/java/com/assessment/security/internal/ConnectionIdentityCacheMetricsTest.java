@@ -0,0 +1,52 @@
+package com.assessment.security.internal;
+
+import com.assessment.security.context.JwtPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionIdentityCacheMetricsTest {
+
+    private final ConnectionIdentityCache cache = new ConnectionIdentityCache(10, Duration.ofMinutes(5));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtPrincipal principal =
+            new JwtPrincipal("1", "service", List.of("ROLE_USER"), Instant.now().plusSeconds(300), null);
+
+    @Test
+    void publishesTotals() {
+        new ConnectionIdentityCacheMetrics(cache).bindTo(registry);
+
+        cache.resolve("c1", "token-a", token -> principal);
+        cache.resolve("c1", "token-a", token -> principal);
+        cache.resolve("c1", "token-a", token -> principal);
+        cache.resolve("c2", "token-b", token -> principal);
+
+        assertEquals(2, registry.get("security.jwt.internal.connections").gauge().value());
+        assertEquals(2, registry.get("security.jwt.internal.verifications").functionCounter().count());
+        assertEquals(2, registry.get("security.jwt.internal.reuses").functionCounter().count());
+
+        cache.clear();
+
+        assertEquals(0, registry.get("security.jwt.internal.connections").gauge().value());
+        assertEquals(2, registry.get("security.jwt.internal.verifications").functionCounter().count());
+    }
+
+    @Test
+    void meterCountDoesNotGrowWithConnections() {
+        new ConnectionIdentityCacheMetrics(cache).bindTo(registry);
+        int meters = registry.getMeters().size();
+
+        for (int i = 0; i < 5; i++) {
+            cache.resolve("c" + i, "token-" + i, token -> principal);
+        }
+
+        assertEquals(meters, registry.getMeters().size());
+        assertTrue(registry.getMeters().stream().allMatch(meter -> meter.getId().getTags().isEmpty()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.assessment.security.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VegasLimitTest {
+
+    private static final long BASELINE = 1_000_000;
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        VegasLimit limit = new VegasLimit(20, 4, 100);
+        limit.onSample(BASELINE, 20);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(BASELINE, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        VegasLimit limit = new VegasLimit(20, 4, 100);
+        limit.onSample(BASELINE, 20);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(BASELINE * 10, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() < 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void ignoresSamplesFromAnUnderusedLimit() {
+        VegasLimit limit = new VegasLimit(20, 4, 100);
+        limit.onSample(BASELINE, 20);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(BASELINE * 10, 2);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void concurrentSamplesStayWithinBounds() throws Exception {
+        VegasLimit limit = new VegasLimit(20, 4, 50);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> samplers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long rtt = t % 2 == 0 ? BASELINE : BASELINE * 10;
+                samplers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        limit.onSample(rtt, limit.getLimit());
+                        int current = limit.getLimit();
+                        assertTrue(current >= 4 && current <= 50, "limit " + current);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> sampler : samplers) {
+                sampler.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
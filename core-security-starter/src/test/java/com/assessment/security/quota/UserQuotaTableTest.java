@@ -0,0 +1,132 @@
+package com.assessment.security.quota;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserQuotaTableTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    @Test
+    void refusesRequestsOverTheLimitWithinAWindow() {
+        UserQuotaTable table = new UserQuotaTable(3, WINDOW, 100, 1);
+
+        assertTrue(table.tryAcquire("alice", 100));
+        assertTrue(table.tryAcquire("alice", 200));
+        assertTrue(table.tryAcquire("alice", 300));
+        assertFalse(table.tryAcquire("alice", 400));
+        assertTrue(table.tryAcquire("bob", 400));
+        assertEquals(1, table.getRejectedCount());
+    }
+
+    @Test
+    void previousWindowCountsInProportionToItsOverlap() {
+        UserQuotaTable table = new UserQuotaTable(3, WINDOW, 100, 1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(table.tryAcquire("alice", 900));
+        }
+
+        // At the start of the next window the whole previous window still counts
+        assertFalse(table.tryAcquire("alice", 1000));
+        // Halfway through, half of it does: 1.5 + 1 < 3, then 1.5 + 2 >= 3
+        assertTrue(table.tryAcquire("alice", 1500));
+        assertTrue(table.tryAcquire("alice", 1500));
+        assertFalse(table.tryAcquire("alice", 1500));
+        assertEquals(Duration.ofMillis(500), table.retryAfter(1500));
+    }
+
+    @Test
+    void quotaResetsAfterAWholeIdleWindow() {
+        UserQuotaTable table = new UserQuotaTable(2, WINDOW, 100, 1);
+        assertTrue(table.tryAcquire("alice", 0));
+        assertTrue(table.tryAcquire("alice", 0));
+        assertFalse(table.tryAcquire("alice", 999));
+
+        assertTrue(table.tryAcquire("alice", 2000));
+        assertTrue(table.tryAcquire("alice", 2000));
+        assertFalse(table.tryAcquire("alice", 2000));
+    }
+
+    @Test
+    void topConsumersUseTheSlidingEstimate() {
+        UserQuotaTable table = new UserQuotaTable(10, WINDOW, 100, 4);
+        for (int i = 0; i < 6; i++) {
+            table.tryAcquire("alice", 500);
+        }
+        for (int i = 0; i < 3; i++) {
+            table.tryAcquire("carol", 500);
+        }
+        table.tryAcquire("bob", 500);
+
+        assertEquals(List.of(
+                new UserQuotaTable.Consumer("alice", 6),
+                new UserQuotaTable.Consumer("carol", 3)), table.topConsumers(2, 999));
+        // Half of the previous window, rounded up
+        assertEquals(List.of(
+                new UserQuotaTable.Consumer("alice", 3),
+                new UserQuotaTable.Consumer("carol", 2),
+                new UserQuotaTable.Consumer("bob", 1)), table.topConsumers(5, 1500));
+        assertEquals(List.of(), table.topConsumers(5, 2000));
+        assertEquals(List.of(), table.topConsumers(0, 999));
+    }
+
+    @Test
+    void compactionDropsUsersIdleForAWholeWindow() {
+        UserQuotaTable table = new UserQuotaTable(5, WINDOW, 1000, 1);
+        for (int i = 0; i < 40; i++) {
+            table.tryAcquire("user-" + i, 100);
+        }
+        assertEquals(40, table.size());
+
+        // Users from the previous window still count towards the sliding window
+        table.tryAcquire("user-0", 1100);
+        assertEquals(40, table.size());
+
+        table.tryAcquire("user-0", 2100);
+        assertEquals(1, table.size());
+        table.tryAcquire("user-1", 3500);
+        assertEquals(2, table.size());
+        table.tryAcquire("user-1", 5000);
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void fullStripeAdmitsNewUsersUntrackedUntilCompactionFreesSlots() {
+        // One stripe of 16 slots, kept at most three quarters full
+        UserQuotaTable table = new UserQuotaTable(1, WINDOW, 4, 1);
+        for (int i = 0; i < 12; i++) {
+            assertTrue(table.tryAcquire("user-" + i, 100));
+        }
+
+        assertTrue(table.tryAcquire("late", 200));
+        assertTrue(table.tryAcquire("late", 300));
+        assertEquals(2, table.getOverflowCount());
+        assertEquals(12, table.size());
+
+        // Once the others have been idle for a whole window, the latecomer is tracked
+        assertTrue(table.tryAcquire("late", 2100));
+        assertFalse(table.tryAcquire("late", 2200));
+        assertEquals(1, table.size());
+        assertEquals(2, table.getOverflowCount());
+    }
+
+    @Test
+    void stripeGrowsUpToItsShareOfMaxUsers() {
+        UserQuotaTable table = new UserQuotaTable(1, WINDOW, 100, 1);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(table.tryAcquire("user-" + i, 100));
+        }
+
+        assertEquals(100, table.size());
+        assertEquals(0, table.getOverflowCount());
+        for (int i = 0; i < 100; i++) {
+            assertFalse(table.tryAcquire("user-" + i, 200));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.assessment.security.token;
+
+import com.assessment.security.context.JwtPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTokenStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    void evictsTheHandleClosestToExpiryWhenFull() {
+        InMemoryTokenStore store = new InMemoryTokenStore(2, clock);
+        store.store("late", principal(300));
+        store.store("soon", principal(100));
+        store.store("mid", principal(200));
+
+        assertEquals(2, store.size());
+        assertNull(store.resolve("soon"));
+        assertNotNull(store.resolve("mid"));
+        assertNotNull(store.resolve("late"));
+    }
+
+    @Test
+    void neverResolvesExpiredHandles() {
+        InMemoryTokenStore store = new InMemoryTokenStore(10, clock);
+        store.store("expired", principal(0));
+        store.store("live", principal(60));
+
+        assertNull(store.resolve("expired"));
+        assertNotNull(store.resolve("live"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void concurrentWritersStayWithinCapacity() throws Exception {
+        int maxTokens = 64;
+        int writers = 8;
+        int writesPerThread = 2_000;
+        InMemoryTokenStore store = new InMemoryTokenStore(maxTokens, clock);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<Integer>> maxObserved = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                maxObserved.add(executor.submit(() -> {
+                    start.await();
+                    int max = 0;
+                    for (int i = 0; i < writesPerThread; i++) {
+                        store.store(writer + "-" + i, principal(60 + i % 100));
+                        max = Math.max(max, store.size());
+                    }
+                    return max;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> max : maxObserved) {
+                assertTrue(max.get() <= maxTokens, "observed " + max.get() + " tokens");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(maxTokens, store.size());
+    }
+
+    private static JwtPrincipal principal(long secondsToExpiry) {
+        return new JwtPrincipal("id", "alice", List.of("ROLE_USER"), NOW.plusSeconds(secondsToExpiry), null);
+    }
+}
@@ -0,0 +1,94 @@
+package com.assessment.security.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HmacJwtWriterTest {
+
+    private static final long ISSUED_AT = 1_700_000_000L;
+    private static final long EXPIRES_AT = 4_000_000_000L;
+    private static final String SECRET = "hmac-jwt-writer-test-secret-that-is-long-enough-for-hs512-keys!!";
+
+    private final JwtKeyMaterial keyMaterial = JwtKeyMaterial.hmac(SECRET);
+    private final HmacJwtWriter writer = HmacJwtWriter.forKey(keyMaterial, null);
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() {
+        String username = "a\"b\\c\nd\te\u0000f\u001fg/h";
+
+        Claims claims = parse(writer.write("id-1", username, List.of(), null, ISSUED_AT, EXPIRES_AT)).getPayload();
+
+        assertEquals(username, claims.get("username", String.class));
+        assertEquals(username, claims.getSubject());
+    }
+
+    @Test
+    void encodesNonAsciiCharacters() {
+        String username = "zoë Øster 名前 😀";
+
+        Claims claims = parse(writer.write(username, username, List.of(new SimpleGrantedAuthority("ROLE_ÜBER")),
+                null, ISSUED_AT, EXPIRES_AT)).getPayload();
+
+        assertEquals(username, claims.get("userId", String.class));
+        assertEquals(username, claims.get("username", String.class));
+        assertEquals(List.of("ROLE_ÜBER"), claims.get("roles", List.class));
+    }
+
+    @Test
+    void replacesUnpairedSurrogates() {
+        Claims claims = parse(writer.write("id", "x\uD800y\uDC00", List.of(), null, ISSUED_AT, EXPIRES_AT)).getPayload();
+
+        assertEquals("x�y�", claims.get("username", String.class));
+    }
+
+    @Test
+    void writesNullsRolesTimesAndConfirmation() {
+        Claims claims = parse(writer.write(null, "user", List.of(
+                        new SimpleGrantedAuthority("ROLE_A"), new SimpleGrantedAuthority("ROLE_\"B\"")),
+                "thumb\"print", ISSUED_AT, EXPIRES_AT)).getPayload();
+
+        assertNull(claims.get("userId"));
+        assertEquals(List.of("ROLE_A", "ROLE_\"B\""), claims.get("roles", List.class));
+        assertEquals(Map.of("jkt", "thumb\"print"), claims.get(JwtUtil.CONFIRMATION_CLAIM, Map.class));
+        assertEquals(ISSUED_AT, claims.getIssuedAt().getTime() / 1000);
+        assertEquals(EXPIRES_AT, claims.getExpiration().getTime() / 1000);
+    }
+
+    @Test
+    void escapesTenantInHeaderAndClaims() {
+        String tenant = "ten\"ant\\ü";
+        HmacJwtWriter tenantWriter = HmacJwtWriter.forKey(keyMaterial, tenant);
+
+        Jws<Claims> jws = parse(tenantWriter.write("id", "user", List.of(), null, ISSUED_AT, EXPIRES_AT));
+
+        assertEquals(tenant, jws.getHeader().get(JwtUtil.TENANT_CLAIM));
+        assertEquals(tenant, jws.getPayload().get(JwtUtil.TENANT_CLAIM, String.class));
+        assertEquals(keyMaterial.getKeyId(), jws.getHeader().getKeyId());
+    }
+
+    @Test
+    void growsBuffersForLargeClaims() {
+        String username = "\"\\😀é".repeat(2_000);
+
+        Claims claims = parse(writer.write("id", username, List.of(), null, ISSUED_AT, EXPIRES_AT)).getPayload();
+
+        assertEquals(username, claims.get("username", String.class));
+    }
+
+    private Jws<Claims> parse(String token) {
+        return Jwts.parser()
+                .verifyWith((SecretKey) keyMaterial.getVerificationKey())
+                .build()
+                .parseSignedClaims(token);
+    }
+}
@@ -0,0 +1,59 @@
+package com.assessment.security.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "jwt-util-test-secret-that-is-long-enough-for-hs512-signing-keys!!";
+
+    private final UserDetails user = User.withUsername("alice").password("x").roles("USER").build();
+
+    @Test
+    void remoteLocatorIsChainedWithLocalKeys() {
+        KeyPair remoteKeys = Jwts.SIG.RS256.keyPair().build();
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+        jwtUtil.setVerificationKeyLocator(new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return "remote".equals(header.getKeyId()) ? remoteKeys.getPublic() : null;
+            }
+        });
+
+        String remoteToken = Jwts.builder()
+                .header().keyId("remote").and()
+                .subject("bob")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(remoteKeys.getPrivate())
+                .compact();
+
+        assertEquals("bob", jwtUtil.extractUsername(remoteToken));
+        assertEquals("alice", jwtUtil.extractUsername(jwtUtil.generateToken(user, "id-1")));
+    }
+
+    @Test
+    void tenantTokensBypassRemoteLocator() {
+        JwtKeyMaterial tenantKey = JwtKeyMaterial.hmac(SECRET.replace('j', 'k'));
+        JwtUtil tenant = new JwtUtil(tenantKey, 60_000, "acme");
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+        jwtUtil.setVerificationKeyLocator(new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                throw new AssertionError("tenant token reached the remote locator");
+            }
+        });
+        jwtUtil.setTenantKeyResolver((tid, kid) -> "acme".equals(tid) ? tenantKey.getVerificationKey() : null);
+
+        assertEquals("alice", jwtUtil.extractUsername(tenant.generateToken(user, "id-1")));
+    }
+}
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-authenticated-request: process launch until
+# POST /api/public/auth/login succeeds and GET /api/user/me returns 200.
+# Runs the default and the fast-start configuration back to back.
+#
+# Build first: mvn -DskipTests install
+# Usage: sample-application/scripts/first-request-bench.sh [runs]
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18069}"
+APP_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$APP_DIR/target/sample-application-1.0.0.jar"
+BASE="http://localhost:$PORT"
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints the milliseconds from launch to the first 200 on /api/user/me
+first_request() {
+  local start pid token
+  start="$(now_ms)"
+  java -jar "$JAR" --server.port="$PORT" "$@" >/dev/null 2>&1 &
+  pid=$!
+
+  token=""
+  while [[ -z "$token" ]]; do
+    token="$(curl -sf -X POST "$BASE/api/public/auth/login" \
+      -H 'Content-Type: application/json' \
+      -d '{"username":"user","password":"user123"}' 2>/dev/null \
+      | sed -n 's/.*"token":"\([^"]*\)".*/\1/p' || true)"
+    [[ -z "$token" ]] && sleep 0.02
+  done
+
+  until curl -sf -o /dev/null -H "Authorization: Bearer $token" "$BASE/api/user/me"; do
+    sleep 0.02
+  done
+  echo $(( $(now_ms) - start ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+report() {
+  local label="$1"
+  shift
+  local total=0 t
+  for _ in $(seq 1 "$RUNS"); do
+    t="$(first_request "$@")"
+    total=$((total + t))
+  done
+  printf "%-10s time-to-first-authenticated-request=%6d ms  (avg of %d runs)\n" "$label" $((total / RUNS)) "$RUNS"
+}
+
+if curl -s -o /dev/null "$BASE/api/public/health"; then
+  echo "Port $PORT is already in use; stop the running instance or set PORT" >&2
+  exit 1
+fi
+
+report "default"
+report "fast-start" --security.jwt.fast-start=true
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+#
+# Compares startup time and resident memory of the JVM jar and the native image.
+#
+# Build both first (from the repository root):
+#   mvn -DskipTests install
+#   mvn -Pnative -DskipTests -pl sample-application package   # needs GraalVM native-image
+#
+# Usage: sample-application/scripts/startup-compare.sh [runs]
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18069}"
+APP_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$APP_DIR/target/sample-application-1.0.0.jar"
+NATIVE="$APP_DIR/target/sample-application"
+
+# Starts the command, waits for the "Started" log line and prints "<seconds> <rss-kb>"
+measure() {
+  local log
+  log="$(mktemp)"
+  "$@" --server.port="$PORT" >"$log" 2>&1 &
+  local pid=$!
+
+  for _ in $(seq 1 600); do
+    if grep -q "Started DemoApplication" "$log"; then
+      break
+    fi
+    sleep 0.1
+  done
+
+  # Let the data initializer finish before sampling memory
+  sleep 1
+  local started rss
+  started="$(grep -o 'Started DemoApplication in [0-9.]* seconds' "$log" | awk '{print $4}')"
+  rss="$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  echo "$started $rss"
+}
+
+report() {
+  local label="$1"
+  shift
+  local total_time=0 total_rss=0
+  for _ in $(seq 1 "$RUNS"); do
+    read -r t r < <(measure "$@")
+    total_time="$(awk -v a="$total_time" -v b="$t" 'BEGIN { print a + b }')"
+    total_rss=$((total_rss + r))
+  done
+  printf "%-8s startup=%6.3fs  rss=%7d KB  (avg of %d runs)\n" \
+    "$label" "$(awk -v a="$total_time" -v n="$RUNS" 'BEGIN { print a / n }')" $((total_rss / RUNS)) "$RUNS"
+}
+
+if [[ -f "$JAR" ]]; then
+  report "jvm" java -jar "$JAR"
+fi
+# The jar only contains AOT-generated initializers when built with -Pnative
+if [[ -x "$NATIVE" ]]; then
+  report "jvm-aot" java -Dspring.aot.enabled=true -jar "$JAR"
+  report "native" "$NATIVE"
+fi
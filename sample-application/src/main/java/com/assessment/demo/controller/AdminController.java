@@ -2,12 +2,18 @@ package com.assessment.demo.controller;
 
 import com.assessment.demo.model.User;
 import com.assessment.demo.service.UserService;
+import com.assessment.security.quota.UserQuotaTable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -18,10 +24,36 @@ import java.util.Map;
 public class AdminController {
 
     private final UserService userService;
+    private final ObjectProvider<UserQuotaTable> quotaTable;
 
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsersResponse());
+    public ResponseEntity<Map<String, Object>> getAllUsers(Authentication authentication, WebRequest request) {
+        String etag = userService.getAllUsersEtag(authentication);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userService.getAllUsersResponse());
+    }
+
+    /**
+     * Users with the most requests in the current quota window; 404 unless quotas are enabled.
+     */
+    @GetMapping("/quota/top-consumers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getTopConsumers(@RequestParam(defaultValue = "10") int limit) {
+        UserQuotaTable table = quotaTable.getIfAvailable();
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+        List<UserQuotaTable.Consumer> consumers = table.topConsumers(Math.min(limit, 100), System.currentTimeMillis());
+        return ResponseEntity.ok(Map.of(
+                "limit", table.getLimit(),
+                "trackedUsers", table.size(),
+                "rejected", table.getRejectedCount(),
+                "consumers", consumers));
     }
 }
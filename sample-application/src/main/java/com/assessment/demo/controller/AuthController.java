@@ -1,15 +1,30 @@
 package com.assessment.demo.controller;
 
 import com.assessment.demo.service.AuthenticationService;
+import com.assessment.security.audit.SecurityEvent;
+import com.assessment.security.audit.SecurityEventPublisher;
+import com.assessment.security.audit.SecurityEventType;
+import com.assessment.security.dpop.DpopProofVerifier;
 import com.assessment.security.dto.LoginRequest;
 import com.assessment.security.dto.LoginResponse;
+import com.assessment.security.exception.AuthenticationException;
+import com.assessment.security.exception.GlobalExceptionHandler;
+import com.assessment.security.filter.TokenResolverChain;
+import com.assessment.security.properties.SecurityProperties;
+import com.assessment.security.tenant.TenantRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+
 /**
  * Controller for authentication endpoints.
  */
@@ -19,10 +34,62 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final TenantRegistry tenantRegistry;
+    private final SecurityProperties securityProperties;
+    private final SecurityEventPublisher securityEventPublisher;
+    private final ObjectProvider<DpopProofVerifier> dpopProofVerifier;
 
+    /**
+     * Returns the token in the body and, when a cookie token resolver is
+     * configured, also as an HttpOnly cookie for browser clients.
+     * With DPoP enabled, a {@code DPoP} proof header binds the token to the proof's key.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
-        LoginResponse response = authenticationService.login(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        String tenantId = tenantRegistry.resolveTenantId(httpRequest);
+        LoginResponse response;
+        try {
+            DpopProofVerifier.CheckedProof proof = checkProof(httpRequest);
+            response = authenticationService.login(request, tenantId, proof != null ? proof.thumbprint() : null);
+            if (proof != null) {
+                // Recorded only for authenticated callers, so anonymous proofs cannot fill the replay cache
+                dpopProofVerifier.getObject().markUsed(proof);
+            }
+        } catch (AuthenticationException e) {
+            securityEventPublisher.publish(SecurityEvent.of(
+                    SecurityEventType.LOGIN_FAILURE, request.getUsername(), null, tenantId, httpRequest, e.getMessage()));
+            // Audited here, with the username; the exception handler only renders the 401
+            httpRequest.setAttribute(GlobalExceptionHandler.AUDITED_ATTRIBUTE, Boolean.TRUE);
+            throw e;
+        }
+        securityEventPublisher.publish(SecurityEvent.of(
+                SecurityEventType.LOGIN_SUCCESS, response.getUsername(), response.getUserId(), tenantId, httpRequest, null));
+
+        String cookieName = TokenResolverChain.cookieName(securityProperties);
+        if (cookieName == null) {
+            return ResponseEntity.ok(response);
+        }
+        ResponseCookie cookie = ResponseCookie.from(cookieName, response.getToken())
+                .httpOnly(true)
+                .secure(httpRequest.isSecure())
+                .sameSite("Strict")
+                .path("/")
+                .maxAge(Duration.ofMillis(Math.max(0, response.getExpiresIn() - System.currentTimeMillis())))
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .body(response);
+    }
+
+    /**
+     * The login request's DPoP proof, checked but not yet recorded, if any.
+     */
+    private DpopProofVerifier.CheckedProof checkProof(HttpServletRequest httpRequest) {
+        DpopProofVerifier verifier = dpopProofVerifier.getIfAvailable();
+        String proof = verifier == null ? null : DpopProofVerifier.proof(httpRequest);
+        if (proof == null) {
+            return null;
+        }
+        return verifier.check(proof, httpRequest.getMethod(), httpRequest.getRequestURL().toString(), null);
     }
 }
@@ -2,11 +2,13 @@ package com.assessment.demo.controller;
 
 import com.assessment.demo.model.User;
 import com.assessment.demo.service.UserService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -27,9 +29,17 @@ public class UserController {
     /**
      * Returns current user information.
      * Requires authentication (any valid user).
+     * Answers {@code If-None-Match} with 304 while the user's data is unchanged.
      */
     @GetMapping("/me")
-    public ResponseEntity<Map<String, Object>> getCurrentUser(Authentication authentication) {
-        return ResponseEntity.ok(userService.getCurrentUserResponse(authentication));
+    public ResponseEntity<Map<String, Object>> getCurrentUser(Authentication authentication, WebRequest request) {
+        String etag = userService.getCurrentUserEtag(authentication);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(userService.getCurrentUserResponse(authentication));
     }
 }
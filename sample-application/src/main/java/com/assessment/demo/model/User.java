@@ -1,13 +1,17 @@
 package com.assessment.demo.model;
 
+import com.assessment.demo.repository.UserWriteListener;
 import jakarta.persistence.*;
 
+import java.util.Locale;
+
 /**
  * User entity representing application users.
  * Stores user credentials and role information.
  */
 @Entity
-@Table(name = "users")
+@EntityListeners(UserWriteListener.class)
+@Table(name = "users", indexes = @Index(name = "idx_users_username_key", columnList = "username_key"))
 public class User {
 
     @Id
@@ -17,6 +21,13 @@ public class User {
     @Column(unique = true, nullable = false)
     private String username;
 
+    /**
+     * Lower-cased username, maintained on every write for case-insensitive login lookups.
+     * Not unique: "Bob" and "bob" may both exist, as usernames are case-sensitive by default.
+     */
+    @Column(name = "username_key", nullable = false)
+    private String usernameKey;
+
     @Column(nullable = false)
     private String password;
 
@@ -48,6 +59,10 @@ public class User {
         this.username = username;
     }
 
+    public String getUsernameKey() {
+        return usernameKey;
+    }
+
     public String getPassword() {
         return password;
     }
@@ -63,4 +78,17 @@ public class User {
     public void setRole(String role) {
         this.role = role;
     }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeUsername() {
+        this.usernameKey = normalize(username);
+    }
+
+    /**
+     * Normalized form stored in {@code username_key}.
+     */
+    public static String normalize(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,7 @@
+package com.assessment.demo.repository;
+
+/**
+ * The columns a login needs, read without materializing a managed {@code User}.
+ */
+public record LoginCredentials(String id, String username, String password, String role) {
+}
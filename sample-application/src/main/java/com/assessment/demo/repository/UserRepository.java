@@ -1,9 +1,15 @@
 package com.assessment.demo.repository;
 
 import com.assessment.demo.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,4 +22,30 @@ public interface UserRepository extends JpaRepository<User, String> {
      * Finds a user by username.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Login lookup by exact username. Returns a projection, so nothing enters
+     * the persistence context and no dirty checking happens at commit.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.assessment.demo.repository.LoginCredentials(u.id, u.username, u.password, u.role) "
+            + "from User u where u.username = :username")
+    Optional<LoginCredentials> findLoginCredentials(String username);
+
+    /**
+     * Login lookup by lower-cased username; served by the {@code username_key} index.
+     * Returns every user whose name differs only in case.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("select new com.assessment.demo.repository.LoginCredentials(u.id, u.username, u.password, u.role) "
+            + "from User u where u.usernameKey = :usernameKey")
+    List<LoginCredentials> findLoginCredentialsByUsernameKey(String usernameKey);
 }
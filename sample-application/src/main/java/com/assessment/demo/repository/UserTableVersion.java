@@ -0,0 +1,32 @@
+package com.assessment.demo.repository;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the users table, bumped by {@link UserWriteListener} on every
+ * entity write. Responses built from the table can be validated against it
+ * without querying. The epoch is random per process, so a version seen before
+ * a restart never matches one after it.
+ */
+@Component
+public class UserTableVersion {
+
+    private final String epoch = HexFormat.of().toHexDigits(new SecureRandom().nextInt());
+    private final AtomicLong version = new AtomicLong();
+
+    public long get() {
+        return version.get();
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    void bump() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.demo.repository;
+
+import com.assessment.demo.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bumps the {@link UserTableVersion} when a user is inserted, updated or deleted.
+ * The version moves again once the transaction completes, so a response built
+ * while the write was still uncommitted is never served under the new version.
+ * Bulk JPQL updates bypass entity callbacks and must bump the version themselves.
+ */
+@Component
+public class UserWriteListener {
+
+    private final UserTableVersion tableVersion;
+
+    public UserWriteListener(UserTableVersion tableVersion) {
+        this.tableVersion = tableVersion;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(User user) {
+        tableVersion.bump();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    tableVersion.bump();
+                }
+            });
+        }
+    }
+}
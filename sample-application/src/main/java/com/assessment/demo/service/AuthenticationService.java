@@ -1,36 +1,51 @@
 package com.assessment.demo.service;
 
 import com.assessment.demo.model.User;
+import com.assessment.demo.repository.LoginCredentials;
 import com.assessment.demo.repository.UserRepository;
 import com.assessment.security.dto.LoginRequest;
 import com.assessment.security.dto.LoginResponse;
 import com.assessment.security.exception.AuthenticationException;
-import com.assessment.security.util.JwtUtil;
+import com.assessment.security.token.IssuedToken;
+import com.assessment.security.token.TokenIssuer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for handling user authentication.
  * Validates credentials and generates JWT tokens.
+ * Credentials are read through a projection query; with
+ * {@code app.login.case-insensitive=true} usernames match regardless of case,
+ * unless several users differ only in case; then only the exact name matches.
+ * Concurrent identical attempts share one verification unless
+ * {@code app.login.coalesce=false}.
  */
 @Service
 public class AuthenticationService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
+    private final TokenIssuer tokenIssuer;
+    private final boolean caseInsensitive;
+    private final LoginCoalescer coalescer;
 
     public AuthenticationService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            JwtUtil jwtUtil) {
+            TokenIssuer tokenIssuer,
+            @Value("${app.login.case-insensitive:false}") boolean caseInsensitive,
+            @Value("${app.login.coalesce:true}") boolean coalesce) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.jwtUtil = jwtUtil;
+        this.tokenIssuer = tokenIssuer;
+        this.caseInsensitive = caseInsensitive;
+        this.coalescer = coalesce ? new LoginCoalescer() : null;
     }
 
     /**
@@ -41,31 +56,90 @@ public class AuthenticationService {
      * @throws AuthenticationException if credentials are invalid
      */
     public LoginResponse login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
+        return login(request, null);
+    }
+
+    /**
+     * Authenticates a user and generates a token scoped to the given tenant.
+     *
+     * @param request  Login credentials
+     * @param tenantId Tenant to issue the token for, or {@code null} for a global token
+     * @return Login response with JWT token
+     * @throws AuthenticationException if credentials are invalid or the tenant is unknown
+     */
+    public LoginResponse login(LoginRequest request, String tenantId) {
+        return login(request, tenantId, null);
+    }
+
+    /**
+     * Authenticates a user and generates a token bound to a DPoP key.
+     * Bound logins are never coalesced: each caller gets a token for its own key.
+     *
+     * @param request       Login credentials
+     * @param tenantId      Tenant to issue the token for, or {@code null} for a global token
+     * @param keyThumbprint Thumbprint of the key proven at login, or {@code null} for a bearer token
+     * @return Login response with JWT token
+     * @throws AuthenticationException if credentials are invalid or the tenant is unknown
+     */
+    public LoginResponse login(LoginRequest request, String tenantId, String keyThumbprint) {
+        if (coalescer == null || keyThumbprint != null) {
+            return authenticate(request, tenantId, keyThumbprint);
+        }
+        // Not normalized: names differing in case may belong to different users
+        return coalescer.execute(tenantId, request.getUsername(), request.getPassword(),
+                () -> authenticate(request, tenantId, null));
+    }
+
+    /**
+     * Number of login attempts answered by an identical attempt already in flight.
+     */
+    public long getCoalescedLoginCount() {
+        return coalescer == null ? 0 : coalescer.getCoalescedCount();
+    }
+
+    private LoginResponse authenticate(LoginRequest request, String tenantId, String keyThumbprint) {
+        LoginCredentials user = findCredentials(request.getUsername())
                 .orElseThrow(() -> new AuthenticationException("Invalid username or password"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.getPassword(), user.password())) {
             throw new AuthenticationException("Invalid username or password");
         }
 
         // Create UserDetails for JWT generation
         UserDetails userDetails = org.springframework.security.core.userdetails.User
                 .builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(new SimpleGrantedAuthority(user.getRole()))
+                .username(user.username())
+                .password(user.password())
+                .authorities(new SimpleGrantedAuthority(user.role()))
                 .build();
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(userDetails, user.getId());
+        // Generate access token (JWT or opaque handle, per security.jwt.token-mode)
+        IssuedToken token = tokenIssuer.issue(userDetails, user.id(), tenantId, keyThumbprint);
 
         // Build response
         return new LoginResponse(
-                token,
-                user.getId(),
-                user.getUsername(),
-                List.of(user.getRole()),
-                jwtUtil.extractExpiration(token).getTime()
+                token.token(),
+                user.id(),
+                user.username(),
+                List.of(user.role()),
+                token.expiresAt()
         );
     }
+
+    private Optional<LoginCredentials> findCredentials(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        if (!caseInsensitive) {
+            return userRepository.findLoginCredentials(username);
+        }
+        List<LoginCredentials> matches = userRepository.findLoginCredentialsByUsernameKey(User.normalize(username));
+        if (matches.size() == 1) {
+            return Optional.of(matches.get(0));
+        }
+        // Several users differ only in case; only the exact name identifies one
+        return matches.stream()
+                .filter(match -> match.username().equals(username))
+                .findFirst();
+    }
 }
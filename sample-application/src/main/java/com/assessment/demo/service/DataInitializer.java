@@ -2,31 +2,79 @@ package com.assessment.demo.service;
 
 import com.assessment.demo.model.User;
 import com.assessment.demo.repository.UserRepository;
+import com.assessment.security.properties.SecurityProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
 /**
  * Initializes sample users on application startup.
  * Creates test users for different roles.
+ * In fast-start mode seeding (two BCrypt hashes) runs on a background
+ * thread while the web server starts; readiness waits for it, so the
+ * application never accepts traffic before the users exist.
  */
 @Component
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer implements CommandLineRunner, SmartInitializingSingleton {
 
     private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final boolean deferred;
+    private volatile FutureTask<Void> seeding;
 
-    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public DataInitializer(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            SecurityProperties securityProperties) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.deferred = securityProperties.isFastStart();
     }
 
     @Override
     public void run(String... args) {
+        if (!deferred) {
+            seed();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (deferred) {
+            FutureTask<Void> task = new FutureTask<>(this::seed, null);
+            Thread.ofVirtual().name("data-initializer").start(task);
+            seeding = task;
+        }
+    }
+
+    /**
+     * Readiness is published after the ready listeners return,
+     * so waiting here keeps the application refusing traffic until seeding is done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() throws InterruptedException {
+        FutureTask<Void> task = seeding;
+        if (task == null) {
+            return;
+        }
+        try {
+            task.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding sample users failed", e.getCause());
+        }
+    }
+
+    private void seed() {
         // Create admin user
         User admin = new User(
                 "admin",
@@ -0,0 +1,115 @@
+package com.assessment.demo.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical login attempts.
+ * Concurrent calls with the same tenant, username and password share one
+ * verification; the entry is removed before its result is published, so
+ * nothing outlives the in-flight call. Passwords are keyed by an HMAC under a
+ * per-process random key, so different passwords never share a result and the
+ * map never holds anything derivable from a password outside this process.
+ */
+class LoginCoalescer {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final SecretKeySpec credentialKey;
+    private final LongAdder coalesced = new LongAdder();
+
+    LoginCoalescer() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.credentialKey = new SecretKeySpec(key, HMAC);
+    }
+
+    /**
+     * Runs {@code login}, or waits for an identical attempt already in flight and
+     * returns (or rethrows) its outcome.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(String tenantId, String username, String password, Supplier<T> login) {
+        if (username == null || password == null) {
+            return login.get();
+        }
+
+        Key key = new Key(tenantId, username, credentialHash(password));
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = login.get();
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Number of attempts that were served by another in-flight attempt.
+     */
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] credentialHash(String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(credentialKey);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private record Key(String tenantId, String username, byte[] credentialHash) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && Objects.equals(tenantId, other.tenantId)
+                    && username.equals(other.username)
+                    && Arrays.equals(credentialHash, other.credentialHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Objects.hashCode(tenantId) + username.hashCode()) + Arrays.hashCode(credentialHash);
+        }
+    }
+}
@@ -2,22 +2,35 @@ package com.assessment.demo.service;
 
 import com.assessment.demo.model.User;
 import com.assessment.demo.repository.UserRepository;
+import com.assessment.demo.repository.UserTableVersion;
+import com.assessment.security.context.JwtAuthenticationToken;
+import com.assessment.security.context.JwtPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service for user management operations.
+ * Responses carry weak ETags derived from the {@link UserTableVersion} and the
+ * caller's identity, so conditional requests are answered without building them.
  */
 @Service
 public class UserService {
 
+    private static final Base64.Encoder ETAG_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     private final UserRepository userRepository;
+    private final UserTableVersion tableVersion;
+    private volatile VersionedResponse allUsersResponse;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserTableVersion tableVersion) {
         this.userRepository = userRepository;
+        this.tableVersion = tableVersion;
     }
 
 
@@ -33,8 +46,16 @@ public class UserService {
 
     /**
      * Builds the admin users response payload.
+     * The payload is reused until the users table changes.
      */
     public Map<String, Object> getAllUsersResponse() {
+        // Read before querying: a concurrent write moves the version past this one
+        long version = tableVersion.get();
+        VersionedResponse cached = allUsersResponse;
+        if (cached != null && cached.version() == version) {
+            return cached.body();
+        }
+
         List<User> users = getAllUsers();
         List<Map<String, String>> userList = users.stream()
                 .map(user -> Map.of(
@@ -44,16 +65,42 @@ public class UserService {
                 ))
                 .toList();
 
-        return Map.of(
+        Map<String, Object> body = Map.of(
                 "total", users.size(),
                 "users", userList
         );
+        allUsersResponse = new VersionedResponse(version, body);
+        return body;
+    }
+
+    /**
+     * ETag of {@link #getAllUsersResponse()} as seen by the caller.
+     */
+    public String getAllUsersEtag(Authentication authentication) {
+        return etag("users", authentication);
+    }
+
+    /**
+     * ETag of {@link #getCurrentUserResponse(Authentication)}.
+     */
+    public String getCurrentUserEtag(Authentication authentication) {
+        return etag("me", authentication);
     }
 
     /**
      * Builds the current user response payload.
+     * Identity from a verified JWT is used as-is; other authentications fall back to a lookup.
      */
     public Map<String, Object> getCurrentUserResponse(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken jwt && !jwt.getPrincipal().roles().isEmpty()) {
+            JwtPrincipal principal = jwt.getPrincipal();
+            return Map.of(
+                    "userId", principal.userId(),
+                    "username", principal.username(),
+                    "role", principal.roles().get(0)
+            );
+        }
+
         String username = authentication.getName();
         User user = getUserByUsername(username);
         return Map.of(
@@ -62,4 +109,28 @@ public class UserService {
                 "role", user.getRole()
         );
     }
+
+    /**
+     * Weak, since {@code Map.of} iteration order (and so the JSON) varies between JVMs.
+     * Scoped to the caller by embedding their user id (base64url, as ids may hold any
+     * character), so one user's validator never matches another user's response. The
+     * hash of the remaining token fields only tells apart responses for the same user.
+     */
+    private String etag(String resource, Authentication authentication) {
+        String id;
+        int variant;
+        if (authentication instanceof JwtAuthenticationToken jwt) {
+            id = jwt.getPrincipal().userId();
+            variant = Objects.hash(resource, jwt.getPrincipal().username(), jwt.getPrincipal().roles());
+        } else {
+            id = authentication.getName();
+            variant = Objects.hash(resource, authentication.getAuthorities());
+        }
+        return "W/\"" + tableVersion.getEpoch() + '-' + tableVersion.get() + '-'
+                + ETAG_ID_ENCODER.encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8))
+                + '-' + Integer.toHexString(variant) + '"';
+    }
+
+    private record VersionedResponse(long version, Map<String, Object> body) {
+    }
 }
@@ -0,0 +1,75 @@
+package com.assessment.demo;
+
+import com.assessment.security.dto.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Shared fixture for integration tests: MockMvc and logins against the seeded users.
+ * Subclasses declare {@code @SpringBootTest} with the properties they need.
+ */
+@AutoConfigureMockMvc
+abstract class AbstractIntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected String loginAndGetToken(String username, String password) throws Exception {
+        return login(loginRequest(username, password));
+    }
+
+    /**
+     * Logs in to the tenant named in the {@code X-Tenant-ID} header.
+     */
+    protected String loginAndGetToken(String tenant, String username, String password) throws Exception {
+        return login(loginRequest(username, password).header("X-Tenant-ID", tenant));
+    }
+
+    /**
+     * Logs in over HTTP, for tests running the server on a real port.
+     */
+    protected String loginAndGetToken(int port, String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(new LoginRequest(username, password))))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    protected MockHttpServletRequestBuilder loginRequest(String username, String password) throws Exception {
+        return post("/api/public/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(username, password)));
+    }
+
+    /**
+     * Performs a login request that must succeed and returns its token.
+     */
+    protected String login(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
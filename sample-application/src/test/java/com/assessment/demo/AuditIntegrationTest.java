@@ -0,0 +1,80 @@
+package com.assessment.demo;
+
+import com.assessment.security.audit.AuditLogReader;
+import com.assessment.security.audit.SecurityEvent;
+import com.assessment.security.audit.SecurityEventType;
+import com.assessment.security.dto.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the security audit bus and its memory-mapped log.
+ */
+@SpringBootTest(properties = "security.jwt.audit.enabled=true")
+class AuditIntegrationTest extends AbstractIntegrationTest {
+
+    private static Path auditDirectory;
+
+    @DynamicPropertySource
+    static void auditDirectory(DynamicPropertyRegistry registry) throws IOException {
+        auditDirectory = Files.createTempDirectory("audit");
+        registry.add("security.jwt.audit.directory", auditDirectory::toString);
+    }
+
+    @Test
+    void testAuthEventsAreWrittenToAuditLog() throws Exception {
+        mockMvc.perform(post("/api/public/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("user", "user123"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/public/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("user", "wrongpassword"))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isForbidden());
+
+        List<SecurityEventType> expected = List.of(
+                SecurityEventType.TOKEN_ISSUED,
+                SecurityEventType.LOGIN_SUCCESS,
+                SecurityEventType.LOGIN_FAILURE,
+                SecurityEventType.TOKEN_REJECTED,
+                SecurityEventType.UNAUTHORIZED);
+
+        // Events are written by a background thread
+        List<SecurityEvent> events = new ArrayList<>();
+        for (int attempt = 0; attempt < 50 && !containsAll(events, expected); attempt++) {
+            Thread.sleep(100);
+            events.clear();
+            AuditLogReader.read(auditDirectory, events::add);
+        }
+
+        assertTrue(containsAll(events, expected), "audit log contained " + events);
+        assertTrue(events.stream().anyMatch(event -> event.type() == SecurityEventType.LOGIN_FAILURE
+                && "user".equals(event.username())
+                && "/api/public/auth/login".equals(event.path())));
+        // A failed login is audited once, as LOGIN_FAILURE
+        assertEquals(1, events.stream().filter(event -> "/api/public/auth/login".equals(event.path())
+                && event.type() != SecurityEventType.LOGIN_SUCCESS
+                && event.type() != SecurityEventType.TOKEN_ISSUED).count());
+    }
+
+    private static boolean containsAll(List<SecurityEvent> events, List<SecurityEventType> types) {
+        return types.stream().allMatch(type -> events.stream().anyMatch(event -> event.type() == type));
+    }
+}
@@ -0,0 +1,46 @@
+package com.assessment.demo;
+
+import com.assessment.demo.model.User;
+import com.assessment.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for case-insensitive login lookups.
+ */
+@SpringBootTest(properties = "app.login.case-insensitive=true")
+class CaseInsensitiveLoginIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void testUsernamesDifferingOnlyInCaseAreDistinctUsers() throws Exception {
+        userRepository.save(new User("Carol", passwordEncoder.encode("upper123"), "ROLE_USER"));
+        userRepository.save(new User("carol", passwordEncoder.encode("lower123"), "ROLE_USER"));
+
+        mockMvc.perform(loginRequest("Carol", "upper123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("Carol"));
+        mockMvc.perform(loginRequest("carol", "lower123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("carol"));
+        // Ambiguous without the exact name
+        mockMvc.perform(loginRequest("CAROL", "upper123"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testUniqueUsernameMatchesRegardlessOfCase() throws Exception {
+        mockMvc.perform(loginRequest("USER", "user123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("user"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.assessment.demo;
+
+import com.assessment.demo.model.User;
+import com.assessment.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ETag validation of user endpoints.
+ */
+@SpringBootTest
+class ConditionalRequestIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testUnchangedUserIsNotModified() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+
+        String etag = mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        // Validators are scoped to the caller
+        String adminToken = loginAndGetToken("admin", "admin123");
+        String adminEtag = mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, adminEtag);
+    }
+
+    @Test
+    void testUserListingIsRevalidatedAfterWrite() throws Exception {
+        String token = loginAndGetToken("admin", "admin123");
+
+        String etag = mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        User extra = userRepository.save(new User("etag-user", "n/a", "ROLE_USER"));
+        try {
+            mockMvc.perform(get("/api/admin/users")
+                            .header("Authorization", "Bearer " + token)
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.users[?(@.username == 'etag-user')]").exists());
+        } finally {
+            userRepository.delete(extra);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.assessment.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for {@code /api/user/me}, which answers from the token's principal.
+ */
+@SpringBootTest
+class CurrentUserIntegrationTest extends AbstractIntegrationTest {
+
+    @Test
+    void testCurrentUserIsReadFromToken() throws Exception {
+        JsonNode login = objectMapper.readTree(mockMvc.perform(loginRequest("user", "user123"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + login.get("token").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(login.get("userId").asText()))
+                .andExpect(jsonPath("$.username").value("user"))
+                .andExpect(jsonPath("$.role").value("ROLE_USER"));
+    }
+}
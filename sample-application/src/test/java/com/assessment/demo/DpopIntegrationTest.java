@@ -0,0 +1,129 @@
+package com.assessment.demo;
+
+import com.assessment.security.dpop.DpopProofVerifier;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for DPoP sender-constrained tokens.
+ */
+@SpringBootTest(properties = "security.jwt.dpop.enabled=true")
+class DpopIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String LOGIN_URL = "http://localhost/api/public/auth/login";
+    private static final String ME_URL = "http://localhost/api/user/me";
+
+    private final KeyPair clientKey = Jwts.SIG.ES256.keyPair().build();
+
+    @Test
+    void testBoundTokenRequiresProofFromTheSameKey() throws Exception {
+        String token = loginWithProof(proof(clientKey, "POST", LOGIN_URL, null));
+
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "DPoP " + token)
+                        .header("DPoP", proof(clientKey, "GET", ME_URL, token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("user"));
+
+        // A stolen token is useless without the key
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "DPoP " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        KeyPair otherKey = Jwts.SIG.ES256.keyPair().build();
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "DPoP " + token)
+                        .header("DPoP", proof(otherKey, "GET", ME_URL, token)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testProofIsAcceptedOnceAndOnlyForItsRequest() throws Exception {
+        String token = loginWithProof(proof(clientKey, "POST", LOGIN_URL, null));
+
+        String proof = proof(clientKey, "GET", ME_URL, token);
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "DPoP " + token)
+                        .header("DPoP", proof))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "DPoP " + token)
+                        .header("DPoP", proof))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "DPoP " + token)
+                        .header("DPoP", proof(clientKey, "GET", "http://localhost/api/admin/users", token)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testLoginWithoutProofIssuesBearerToken() throws Exception {
+        String token = loginWithProof(null);
+
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testLoginWithInvalidProofIsRejected() throws Exception {
+        mockMvc.perform(loginRequest("user", "user123")
+                        .header("DPoP", proof(clientKey, "GET", LOGIN_URL, null)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testFailedLoginDoesNotUseUpProof() throws Exception {
+        String proof = proof(clientKey, "POST", LOGIN_URL, null);
+
+        mockMvc.perform(loginRequest("user", "wrong-password")
+                        .header("DPoP", proof))
+                .andExpect(status().isUnauthorized());
+
+        // Only a successful login records the proof id
+        loginWithProof(proof);
+        mockMvc.perform(loginRequest("user", "user123")
+                        .header("DPoP", proof))
+                .andExpect(status().isUnauthorized());
+    }
+
+
+    private String loginWithProof(String proof) throws Exception {
+        MockHttpServletRequestBuilder request = loginRequest("user", "user123");
+        if (proof != null) {
+            request.header("DPoP", proof);
+        }
+        return login(request);
+    }
+
+    private static String proof(KeyPair key, String method, String url, String accessToken) {
+        JwtBuilder builder = Jwts.builder()
+                .header()
+                .type("dpop+jwt")
+                .jwk(Jwks.builder().key(key.getPublic()).build())
+                .and()
+                .id(UUID.randomUUID().toString())
+                .claim("htm", method)
+                .claim("htu", url)
+                .issuedAt(new Date());
+        if (accessToken != null) {
+            builder.claim("ath", DpopProofVerifier.tokenHash(accessToken));
+        }
+        return builder.signWith(key.getPrivate()).compact();
+    }
+}
@@ -0,0 +1,26 @@
+package com.assessment.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Integration tests for fast-start mode with deferred user seeding.
+ */
+@SpringBootTest(properties = "security.jwt.fast-start=true")
+class FastStartIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void testSeedUsersExistOnceReady() throws Exception {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+        assertNotNull(loginAndGetToken("user", "user123"));
+    }
+}
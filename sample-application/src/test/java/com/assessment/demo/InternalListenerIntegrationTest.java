@@ -0,0 +1,110 @@
+package com.assessment.demo;
+
+import com.assessment.security.internal.ConnectionIdentityCache;
+import com.assessment.security.internal.InternalListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Integration tests for the internal h2c listener and its per-connection identity cache.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "security.jwt.internal-listener.enabled=true",
+                "security.jwt.internal-listener.port=0"
+        })
+class InternalListenerIntegrationTest extends AbstractIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InternalListener internalListener;
+
+    @Autowired
+    private ConnectionIdentityCache connectionIdentityCache;
+
+    @Test
+    void testTokenIsVerifiedOncePerConnection() throws Exception {
+        String token = loginAndGetToken(port, "user", "user123");
+        String adminToken = loginAndGetToken(port, "admin", "admin123");
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        long verificationsBefore = connectionIdentityCache.getVerificationCount();
+
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> response = client.send(me(internalListener.getLocalPort(), token),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+        }
+        HttpResponse<String> last = client.send(me(internalListener.getLocalPort(), token),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_2, last.version());
+
+        List<ConnectionIdentityCache.ConnectionStats> stats = connectionIdentityCache.getConnectionStats();
+        assertEquals(1, stats.size());
+        assertEquals("user", stats.get(0).username());
+        assertEquals(1, stats.get(0).verifications());
+        assertEquals(3, stats.get(0).reuses());
+
+        // A different token on the same connection is verified again and replaces the identity
+        HttpResponse<String> admin = client.send(me(internalListener.getLocalPort(), adminToken),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals("admin", objectMapper.readTree(admin.body()).get("username").asText());
+        assertEquals("admin", connectionIdentityCache.getConnectionStats().get(0).username());
+
+        // The public listener keeps verifying every request
+        client.send(me(port, token), HttpResponse.BodyHandlers.ofString());
+        assertEquals(verificationsBefore + 2, connectionIdentityCache.getVerificationCount());
+    }
+
+    @Test
+    void testListenerOnlyAcceptsLoopbackConnections() throws Exception {
+        Optional<InetAddress> external = nonLoopbackAddress();
+        assumeTrue(external.isPresent(), "no non-loopback interface");
+
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), internalListener.getLocalPort()), 1000);
+        }
+        assertThrows(IOException.class, () -> {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(external.get(), internalListener.getLocalPort()), 1000);
+            }
+        });
+    }
+
+
+    private static Optional<InetAddress> nonLoopbackAddress() throws SocketException {
+        return NetworkInterface.networkInterfaces()
+                .flatMap(NetworkInterface::inetAddresses)
+                .filter(address -> address instanceof Inet4Address && !address.isLoopbackAddress())
+                .findFirst();
+    }
+
+    private static HttpRequest me(int port, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/user/me"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.assessment.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the published JWK Set endpoint.
+ */
+@SpringBootTest
+class JwksIntegrationTest extends AbstractIntegrationTest {
+
+    @Test
+    void testJwksEndpointSupportsConditionalRequests() throws Exception {
+        MvcResult result = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", containsString("max-age")))
+                .andExpect(jsonPath("$.keys").isArray())
+                .andReturn();
+
+        String etag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/.well-known/jwks.json")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,82 @@
+package com.assessment.demo;
+
+import com.assessment.demo.service.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Integration tests for coalescing of concurrent identical login attempts.
+ */
+@SpringBootTest
+class LoginCoalescingIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void testConcurrentIdenticalLoginsDoNotShareFailures() throws Exception {
+        int attempts = 8;
+        long expectedCoalesced = 2L * (attempts - 1);
+        long coalescedBefore = authenticationService.getCoalescedLoginCount();
+
+        // Hold each leading attempt in verification until all identical attempts have joined it
+        doAnswer(invocation -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (authenticationService.getCoalescedLoginCount() - coalescedBefore < expectedCoalesced
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).matches(any(), any());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(attempts * 2);
+        try {
+            List<Future<Integer>> valid = new ArrayList<>();
+            List<Future<Integer>> invalid = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                valid.add(executor.submit(() -> loginStatus(start, "user", "user123")));
+                invalid.add(executor.submit(() -> loginStatus(start, "user", "wrongpassword")));
+            }
+            start.countDown();
+
+            for (Future<Integer> status : valid) {
+                assertEquals(200, status.get());
+            }
+            for (Future<Integer> status : invalid) {
+                assertEquals(401, status.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(expectedCoalesced, authenticationService.getCoalescedLoginCount() - coalescedBefore);
+    }
+
+
+    private int loginStatus(CountDownLatch start, String username, String password) throws Exception {
+        start.await();
+        return mockMvc.perform(loginRequest(username, password))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+}
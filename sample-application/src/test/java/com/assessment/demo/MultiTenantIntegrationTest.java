@@ -0,0 +1,105 @@
+package com.assessment.demo;
+
+import com.assessment.security.dto.LoginRequest;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for per-tenant signing keys and public paths.
+ */
+@SpringBootTest(properties = {
+        "security.jwt.tenants.acme.secret=" + MultiTenantIntegrationTest.ACME_SECRET,
+        "security.jwt.tenants.acme.public-paths[0]=/api/status/**",
+        "security.jwt.tenants.globex.secret=globex-tenant-secret-that-is-long-enough-for-hmac-sha-256"
+})
+class MultiTenantIntegrationTest extends AbstractIntegrationTest {
+
+    static final String ACME_SECRET = "acme-tenant-secret-that-is-long-enough-for-hmac-sha-256";
+
+    @Test
+    void testTenantTokenAuthenticatesForItsTenant() throws Exception {
+        String token = loginAndGetToken("globex", "admin", "admin123");
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Tenant-ID", "globex"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testTenantTokenIsRejectedForOtherTenant() throws Exception {
+        String token = loginAndGetToken("globex", "admin", "admin123");
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Tenant-ID", "acme"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testLoginForUnknownTenantFails() throws Exception {
+        mockMvc.perform(post("/api/public/auth/login")
+                        .header("X-Tenant-ID", "initech")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("user", "user123"))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testTenantPublicPathsAreReachableWithoutToken() throws Exception {
+        // No handler is mapped; the request only needs to get past the filter chain
+        mockMvc.perform(get("/api/status/ping")
+                        .header("X-Tenant-ID", "acme"))
+                .andExpect(result -> assertNotEquals(403, result.getResponse().getStatus()));
+
+        mockMvc.perform(get("/api/status/ping")
+                        .header("X-Tenant-ID", "globex"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testTenantSignedTokenWithoutTenantClaimIsRejected() throws Exception {
+        // Verified with acme's key through the header, but would pass as a tenantless admin
+        String forged = forgeAcmeToken(null);
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + forged))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testTenantSignedTokenClaimingOtherTenantIsRejected() throws Exception {
+        String forged = forgeAcmeToken("globex");
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + forged)
+                        .header("X-Tenant-ID", "globex"))
+                .andExpect(status().isForbidden());
+    }
+
+
+    private static String forgeAcmeToken(String claimedTenant) {
+        JwtBuilder builder = Jwts.builder()
+                .header().add("tid", "acme").and()
+                .subject("admin")
+                .claim("userId", "1")
+                .claim("roles", List.of("ROLE_ADMIN"))
+                .expiration(new Date(System.currentTimeMillis() + 60_000));
+        if (claimedTenant != null) {
+            builder.claim("tid", claimedTenant);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(ACME_SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+    }
+}
@@ -0,0 +1,52 @@
+package com.assessment.demo;
+
+import com.assessment.security.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for adaptive load shedding in the JWT filter.
+ * The limit is pinned to one so a single held slot saturates the node.
+ */
+@SpringBootTest(properties = {
+        "security.jwt.concurrency-limit.enabled=true",
+        "security.jwt.concurrency-limit.initial-limit=1",
+        "security.jwt.concurrency-limit.min-limit=1",
+        "security.jwt.concurrency-limit.max-limit=1",
+        "security.jwt.concurrency-limit.retry-after=2s"
+})
+class OverloadProtectionIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Test
+    void testSaturatedNodeShedsAuthenticatedRequests() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+
+        long slot = limiter.tryAcquire();
+        try {
+            mockMvc.perform(get("/api/user/me")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"));
+
+            // Public requests are admitted even with a token attached
+            mockMvc.perform(get("/api/public/health")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        } finally {
+            limiter.release(slot);
+        }
+
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertTrue(limiter.getShedCount() > 0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.assessment.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for per-user request quotas.
+ */
+@SpringBootTest(properties = {
+        "security.jwt.quota.enabled=true",
+        "security.jwt.quota.limit=3",
+        "security.jwt.quota.window=1h"
+})
+class QuotaIntegrationTest extends AbstractIntegrationTest {
+
+    @Test
+    void testUserOverQuotaIsRefused() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/user/me")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/user/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // Quotas are per user
+        String adminToken = loginAndGetToken("admin", "admin123");
+        mockMvc.perform(get("/api/admin/quota/top-consumers")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(3))
+                .andExpect(jsonPath("$.rejected", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.consumers[0].userId").exists())
+                .andExpect(jsonPath("$.consumers[0].requests").value(3));
+    }
+}
@@ -0,0 +1,62 @@
+package com.assessment.demo;
+
+import com.assessment.security.context.JwtAuthenticationToken;
+import com.assessment.security.filter.JwtAuthenticationFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the role hierarchy configured in {@code application.yml}
+ * ({@code ADMIN: [USER]}).
+ */
+@SpringBootTest
+class RoleHierarchyIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private MethodSecurityExpressionHandler methodSecurityExpressionHandler;
+
+    @Test
+    void testAdminInheritsUserRoleThroughHierarchy() throws Exception {
+        String token = loginAndGetToken("admin", "admin123");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        try {
+            jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(),
+                    (req, res) -> authentication.set(SecurityContextHolder.getContext().getAuthentication()));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // The token carries only ROLE_ADMIN; ROLE_USER comes from the configured hierarchy
+        JwtAuthenticationToken jwt = (JwtAuthenticationToken) authentication.get();
+        assertEquals(List.of("ROLE_ADMIN"), jwt.getPrincipal().roles());
+        assertTrue(jwt.hasAuthority("ROLE_USER"));
+        EvaluationContext context = methodSecurityExpressionHandler.createEvaluationContext(
+                authentication::get, new SimpleMethodInvocation(this, Object.class.getMethod("toString")));
+        assertTrue(ExpressionUtils.evaluateAsBoolean(
+                methodSecurityExpressionHandler.getExpressionParser().parseExpression("hasRole('USER')"), context));
+        assertFalse(ExpressionUtils.evaluateAsBoolean(
+                methodSecurityExpressionHandler.getExpressionParser().parseExpression("hasRole('AUDITOR')"), context));
+    }
+}
@@ -1,14 +1,9 @@
 package com.assessment.demo;
 
 import com.assessment.security.dto.LoginRequest;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -18,14 +13,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests authentication, authorization, and endpoint security.
  */
 @SpringBootTest
-@AutoConfigureMockMvc
-class SecurityIntegrationTest {
-
-    @Autowired
-    private MockMvc mockMvc;
-
-    @Autowired
-    private ObjectMapper objectMapper;
+class SecurityIntegrationTest extends AbstractIntegrationTest {
 
     @Test
     void testPublicHealthEndpoint() throws Exception {
@@ -106,18 +94,4 @@ class SecurityIntegrationTest {
         mockMvc.perform(get("/api/admin/users"))
                 .andExpect(status().isForbidden());
     }
-
-
-    private String loginAndGetToken(String username, String password) throws Exception {
-        LoginRequest request = new LoginRequest(username, password);
-
-        MvcResult result = mockMvc.perform(post("/api/public/auth/login")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
-                .andExpect(status().isOk())
-                .andReturn();
-
-        String response = result.getResponse().getContentAsString();
-        return objectMapper.readTree(response).get("token").asText();
-    }
 }
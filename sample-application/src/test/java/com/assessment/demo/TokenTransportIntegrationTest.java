@@ -0,0 +1,105 @@
+package com.assessment.demo;
+
+import com.assessment.security.dto.LoginRequest;
+import com.assessment.security.filter.TokenResolverChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for cookie and custom-header token transports.
+ */
+@SpringBootTest(properties = {
+        "security.jwt.token-resolvers[0].type=bearer",
+        "security.jwt.token-resolvers[1].type=cookie",
+        "security.jwt.token-resolvers[2].type=header",
+        "security.jwt.token-resolvers[2].name=X-Access-Token"
+})
+class TokenTransportIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TokenResolverChain tokenResolverChain;
+
+    @Test
+    void testLoginSetsHttpOnlyCookie() throws Exception {
+        mockMvc.perform(post("/api/public/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("user", "user123"))))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists("access_token"))
+                .andExpect(cookie().httpOnly("access_token", true))
+                .andExpect(header().stringValues("Set-Cookie",
+                        hasItem(allOf(startsWith("access_token="), containsString("SameSite=Strict")))));
+    }
+
+    @Test
+    void testCookieAuthenticatesRequests() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+
+        mockMvc.perform(get("/api/user/me")
+                        .cookie(new Cookie("theme", "dark"), new Cookie("access_token", token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("user"));
+
+        assertTrue(tokenResolverChain.getHitCounts().get("cookie:access_token") > 0);
+    }
+
+    @Test
+    void testCrossSitePostWithOnlyTheCookieIsRejected() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+
+        mockMvc.perform(post("/api/user/me")
+                        .header("Origin", "https://attacker.example")
+                        .cookie(new Cookie("access_token", token)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testCookiePostWithDoubleSubmittedCsrfTokenPasses() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+        Cookie xsrf = mockMvc.perform(get("/api/public/health"))
+                .andExpect(cookie().httpOnly("XSRF-TOKEN", false))
+                .andReturn().getResponse().getCookie("XSRF-TOKEN");
+        assertNotNull(xsrf);
+
+        // Past the CSRF check; the endpoint itself only supports GET
+        int status = mockMvc.perform(post("/api/user/me")
+                        .cookie(new Cookie("access_token", token), xsrf)
+                        .header("X-XSRF-TOKEN", xsrf.getValue()))
+                .andReturn().getResponse().getStatus();
+        assertNotEquals(403, status);
+    }
+
+    @Test
+    void testHeaderTokenPostNeedsNoCsrfToken() throws Exception {
+        String token = loginAndGetToken("user", "user123");
+
+        int status = mockMvc.perform(post("/api/user/me")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+        assertNotEquals(403, status);
+    }
+
+    @Test
+    void testCustomHeaderAuthenticatesRequests() throws Exception {
+        String token = loginAndGetToken("admin", "admin123");
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("X-Access-Token", token))
+                .andExpect(status().isOk());
+
+        assertTrue(tokenResolverChain.getHitCounts().get("header:X-Access-Token") > 0);
+    }
+}
@@ -0,0 +1,150 @@
+package com.assessment.demo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives login, current-user and admin-listing endpoints concurrently at fixed
+ * arrival rates and fails when a p99 exceeds its budget.
+ * Run with {@code mvn -Pload-test -pl sample-application test}; rates, durations
+ * and budgets are the {@code load.*} properties in the sample-application pom.
+ * Full percentile distributions are written to {@code target/load-test/*.hgrm}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "security.jwt.enable-request-logging=false")
+class AuthEndpointsLoadTest {
+
+    private static ExecutorService executor;
+    private static HttpClient client;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void startClient() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @AfterAll
+    static void stopClient() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void endpointsStayWithinLatencyBudget() throws Exception {
+        String userToken = login("user", "user123");
+        String adminToken = login("admin", "admin123");
+
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 20));
+        FixedRateLoadGenerator generator = new FixedRateLoadGenerator(client);
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("login", Integer.getInteger("load.rate.login", 20), Double.parseDouble(System.getProperty("load.p99.login", "500")),
+                        () -> loginRequest("user", "user123")),
+                new Scenario("user-me", Integer.getInteger("load.rate.me", 200), Double.parseDouble(System.getProperty("load.p99.me", "50")),
+                        () -> authorizedGet("/api/user/me", userToken)),
+                new Scenario("admin-users", Integer.getInteger("load.rate.admin", 100), Double.parseDouble(System.getProperty("load.p99.admin", "75")),
+                        () -> authorizedGet("/api/admin/users", adminToken))
+        );
+
+        // One platform thread per scenario keeps each generator's schedule independent
+        List<FixedRateLoadGenerator.Result> results;
+        try (ExecutorService runners = Executors.newFixedThreadPool(scenarios.size())) {
+            List<CompletableFuture<FixedRateLoadGenerator.Result>> runs = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                runs.add(CompletableFuture.supplyAsync(
+                        () -> generator.run(scenario.name(), scenario.request(), scenario.rate(), warmup, duration),
+                        runners));
+            }
+            results = runs.stream().map(CompletableFuture::join).toList();
+        }
+        for (FixedRateLoadGenerator.Result result : results) {
+            System.out.println(result.summary());
+            writeDistribution(result);
+        }
+
+        assertAll(scenarios.stream().map(scenario -> () -> {
+            FixedRateLoadGenerator.Result result = results.stream()
+                    .filter(r -> r.name().equals(scenario.name()))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(0, result.errors(), scenario.name() + " had failed requests");
+            assertTrue(result.percentileMillis(99) <= scenario.p99BudgetMillis(),
+                    String.format("%s p99 %.2fms exceeds budget %.2fms",
+                            scenario.name(), result.percentileMillis(99), scenario.p99BudgetMillis()));
+        }));
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(username, password), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "login failed for " + username);
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest loginRequest(String username, String password) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(uri("/api/public/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest authorizedGet(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void writeDistribution(FixedRateLoadGenerator.Result result) throws IOException {
+        Path dir = Path.of("target", "load-test");
+        Files.createDirectories(dir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(result.name() + ".hgrm")))) {
+            // Recorded in microseconds, reported in milliseconds
+            result.histogram().outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private record Scenario(String name, int rate, double p99BudgetMillis, Supplier<HttpRequest> request) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.assessment.demo.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: requests are sent at fixed intended start times
+ * regardless of how long earlier requests take. Latency is measured from the
+ * intended start, so a stalled server shows up in the percentiles instead of
+ * silently lowering the request rate (no coordinated omission).
+ */
+final class FixedRateLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client;
+
+    FixedRateLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Drives one endpoint at {@code ratePerSecond}; only requests scheduled after the warmup are recorded.
+     */
+    Result run(String name, Supplier<HttpRequest> request, int ratePerSecond, Duration warmup, Duration duration) {
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder errors = new LongAdder();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            final long intendedStart = intended;
+            inFlight.add(client.sendAsync(request.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (intendedStart < measureFrom) {
+                            return;
+                        }
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                        histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                    }));
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(ignored -> null)
+                .join();
+
+        return new Result(name, ratePerSecond, histogram, errors.sum());
+    }
+
+    record Result(String name, int ratePerSecond, Histogram histogram, long errors) {
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        String summary() {
+            return String.format("%-12s rate=%4d/s count=%7d errors=%4d  p50=%8.2fms p90=%8.2fms p99=%8.2fms p99.9=%8.2fms max=%8.2fms",
+                    name, ratePerSecond, histogram.getTotalCount(), errors,
+                    percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
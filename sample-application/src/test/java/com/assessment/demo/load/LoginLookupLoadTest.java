@@ -0,0 +1,148 @@
+package com.assessment.demo.load;
+
+import com.assessment.demo.model.User;
+import com.assessment.demo.repository.UserRepository;
+import com.assessment.demo.service.AuthenticationService;
+import com.assessment.security.dto.LoginRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Login throughput with the database as the bottleneck: BCrypt is replaced by a
+ * plain string comparison so the full-entity lookup ({@code findByUsername})
+ * can be compared with the projection query the login path now uses.
+ * Run with {@code mvn -Pload-test -pl sample-application test -Dtest=LoginLookupLoadTest};
+ * results are written to {@code target/load-test/login-lookup.txt}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "security.jwt.enable-request-logging=false")
+class LoginLookupLoadTest {
+
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void projectionLookupThroughput() throws Exception {
+        int users = Integer.getInteger("load.lookup.users", 10_000);
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 20));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        seed(users);
+
+        List<String> lines = new ArrayList<>();
+        for (Variant variant : List.of(
+                new Variant("entity-lookup", username -> userRepository.findByUsername(username)
+                        .filter(user -> passwordEncoder.matches(PASSWORD, user.getPassword()))
+                        .isPresent()),
+                new Variant("projection-lookup", username -> userRepository.findLoginCredentials(username)
+                        .filter(credentials -> passwordEncoder.matches(PASSWORD, credentials.password()))
+                        .isPresent()),
+                new Variant("login", username -> authenticationService.login(new LoginRequest(username, PASSWORD)) != null))) {
+            run(variant, users, threads, warmup);
+            long ops = run(variant, users, threads, duration);
+            lines.add(String.format("%-18s %,12.0f logins/s (%d threads, %,d users)",
+                    variant.name(), ops / (double) duration.toSeconds(), threads, users));
+        }
+
+        lines.forEach(System.out::println);
+        Path dir = Path.of("target", "load-test");
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("login-lookup.txt"), lines);
+    }
+
+    private long run(Variant variant, int users, int threads, Duration duration) throws Exception {
+        LongAdder completed = new LongAdder();
+        long end = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end) {
+                        assertTrue(variant.login().test("load-" + random.nextInt(users)), variant.name() + " failed");
+                        completed.increment();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return completed.sum();
+    }
+
+    private void seed(int users) {
+        if (userRepository.count() >= users) {
+            return;
+        }
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            batch.add(new User("load-" + i, hash, "ROLE_USER"));
+            if (batch.size() == 1_000) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+    }
+
+    private record Variant(String name, Predicate<String> login) {
+    }
+
+    @TestConfiguration
+    static class PlainPasswordConfig {
+
+        /**
+         * Keeps password hashing out of the measurement.
+         */
+        @Bean
+        @Primary
+        PasswordEncoder plainPasswordEncoder() {
+            return new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    return rawPassword.toString();
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return encodedPassword.contentEquals(rawPassword);
+                }
+            };
+        }
+    }
+}